@@ -0,0 +1,63 @@
+package com.eticaret.backend.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts cache invalidation messages to every application node over Redis pub/sub.
+ * Each topic maps to its own Redis channel; a node also receives the messages it publishes.
+ */
+@Component
+public class CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private static final String CHANNEL_PREFIX = "eticaret:invalidate:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final boolean enabled;
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${cache.redis.enabled:true}") boolean enabled) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Publish an invalidation message to all nodes
+     */
+    public void publish(String topic, String payload) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(CHANNEL_PREFIX + topic, payload);
+        } catch (DataAccessException ex) {
+            log.warn("Failed to publish invalidation on topic {}: {}", topic, ex.getMessage());
+        }
+    }
+
+    /**
+     * Register a handler for invalidation messages on a topic
+     */
+    public void subscribe(String topic, Consumer<String> handler) {
+        if (!enabled) {
+            return;
+        }
+        listenerContainer.addMessageListener(
+                (message, pattern) -> handler.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANNEL_PREFIX + topic));
+    }
+}
@@ -0,0 +1,121 @@
+package com.eticaret.backend.cache;
+
+import com.eticaret.backend.dto.response.CategoryResponse;
+import com.eticaret.backend.mapper.CategoryMapper;
+import com.eticaret.backend.model.CacheVersion;
+import com.eticaret.backend.repository.CacheVersionRepository;
+import com.eticaret.backend.repository.CategoryRepository;
+import com.eticaret.backend.util.TransactionUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Holds the whole category table as one immutable, versioned snapshot.
+ * Reads never touch the database once the snapshot is loaded. Writes bump the categories row of
+ * cache_versions in their transaction, then rebuild after commit and broadcast a refresh so every
+ * node rebuilds too. The version is read with the categories from one database snapshot, so all
+ * nodes, before and after restarts, give the same version for the same data; it is what clients
+ * revalidate against.
+ */
+@Component
+public class CategorySnapshotCache {
+
+    private static final Logger log = LoggerFactory.getLogger(CategorySnapshotCache.class);
+
+    private static final String TOPIC = "category";
+    private static final String SNAPSHOT_KEY = "all";
+
+    private final CategoryRepository categoryRepository;
+    private final CacheVersionRepository cacheVersionRepository;
+    private final CategoryMapper categoryMapper;
+    private final CacheInvalidationBus invalidationBus;
+    private final SingleFlight<String, Snapshot> initialLoad;
+    private final TransactionTemplate readTemplate;
+
+    private volatile Snapshot snapshot;
+
+    public CategorySnapshotCache(CategoryRepository categoryRepository,
+            CacheVersionRepository cacheVersionRepository,
+            CategoryMapper categoryMapper,
+            CacheInvalidationBus invalidationBus,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.categoryRepository = categoryRepository;
+        this.cacheVersionRepository = cacheVersionRepository;
+        this.categoryMapper = categoryMapper;
+        this.invalidationBus = invalidationBus;
+        this.initialLoad = new SingleFlight<>("category", meterRegistry);
+        // Own read-write transaction: runs after commit, and must read the primary, not a replica.
+        // Repeatable read makes the version and the rows one consistent snapshot.
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        invalidationBus.subscribe(TOPIC, payload -> rebuild());
+    }
+
+    /**
+     * Current snapshot, loaded on first use; callers arriving during that load wait for it
+     */
+    public Snapshot get() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        return initialLoad.load(SNAPSHOT_KEY, key -> {
+            Snapshot loaded = snapshot;
+            return loaded != null ? loaded : rebuild();
+        });
+    }
+
+    /**
+     * Bump the version in the current (write) transaction, then rebuild on this node once it commits
+     * and tell the other nodes to do the same
+     */
+    public void refreshAfterCommit() {
+        cacheVersionRepository.bump(CacheVersion.CATEGORIES);
+        TransactionUtils.runAfterCommit(() -> {
+            rebuild();
+            invalidationBus.publish(TOPIC, "");
+        });
+    }
+
+    /**
+     * Reads and publishes under the lock, so a rebuild can never replace newer data with older data
+     */
+    private synchronized Snapshot rebuild() {
+        Snapshot rebuilt = readTemplate.execute(status -> new Snapshot(
+                cacheVersionRepository.findVersion(CacheVersion.CATEGORIES).orElse(0L),
+                categoryRepository.findAll().stream().map(categoryMapper::toResponse).toList()));
+        Snapshot current = snapshot;
+        if (current != null && current.version() > rebuilt.version()) {
+            return current;
+        }
+        snapshot = rebuilt;
+        log.debug("Category snapshot rebuilt: version {}, {} categories", rebuilt.version(), rebuilt.all().size());
+        return rebuilt;
+    }
+
+    /**
+     * Immutable view of all categories, with the active subset and an id index precomputed.
+     */
+    public record Snapshot(long version, List<CategoryResponse> all, List<CategoryResponse> active,
+            Map<Long, CategoryResponse> byId) {
+
+        Snapshot(long version, List<CategoryResponse> all) {
+            this(version, all,
+                    all.stream().filter(category -> Boolean.TRUE.equals(category.getActive())).toList(),
+                    all.stream().collect(Collectors.toUnmodifiableMap(CategoryResponse::getId, Function.identity())));
+        }
+    }
+}
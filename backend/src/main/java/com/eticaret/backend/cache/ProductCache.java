@@ -0,0 +1,277 @@
+package com.eticaret.backend.cache;
+
+import com.eticaret.backend.dto.response.ProductResponse;
+import com.eticaret.backend.util.TransactionUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Two-tier cache-aside cache for product responses.
+ * Tier 1 is a bounded in-process Caffeine cache (size and TTL eviction), tier 2 is Redis.
+ * Invalidations are applied after commit and broadcast to every node over Redis pub/sub.
+ * Redis failures degrade to a database read instead of failing the request.
+ * Concurrent misses on the same id share one Redis read and one database load.
+ * A load that overlaps an invalidation may have read the old row, so its value is returned but not
+ * cached: Redis writes are compare-and-set against a per-id generation that invalidations bump, and
+ * near-cache puts are checked against a local generation bumped on every eviction.
+ */
+@Component
+public class ProductCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductCache.class);
+
+    private static final String TOPIC = "product";
+    private static final String KEY_PREFIX = "product:";
+    private static final String GENERATION_PREFIX = "product:gen:";
+    private static final int GENERATION_STRIPES = 1024;
+
+    // KEYS: value, generation; ARGV: generation seen before the load ('' for none), JSON, TTL in ms
+    private static final RedisScript<Long> WRITE_IF_CURRENT = new DefaultRedisScript<>("""
+            if (redis.call('GET', KEYS[2]) or '') ~= ARGV[1] then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    // KEYS: value, generation pairs; ARGV: generation TTL in ms. Returns the number of values deleted.
+    private static final RedisScript<Long> INVALIDATE = new DefaultRedisScript<>("""
+            local deleted = 0
+            for i = 1, #KEYS, 2 do
+                deleted = deleted + redis.call('DEL', KEYS[i])
+                redis.call('INCR', KEYS[i + 1])
+                redis.call('PEXPIRE', KEYS[i + 1], ARGV[1])
+            end
+            return deleted
+            """, Long.class);
+
+    private final Cache<Long, ProductResponse> nearCache;
+    private final StringRedisTemplate redisTemplate;
+    private final CacheInvalidationBus invalidationBus;
+    private final ObjectMapper objectMapper;
+    private final boolean redisEnabled;
+    private final Duration redisTtl;
+    private final List<LongConsumer> localInvalidationListeners = new CopyOnWriteArrayList<>();
+    private final SingleFlight<Long, ProductResponse> loads;
+    // Striped so memory stays fixed; a collision only skips caching one load
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter redisEvictions;
+    private final Counter redisErrors;
+
+    public ProductCache(StringRedisTemplate redisTemplate,
+            CacheInvalidationBus invalidationBus,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${cache.product.near.max-size:10000}") long nearMaxSize,
+            @Value("${cache.product.near.ttl:60s}") Duration nearTtl,
+            @Value("${cache.redis.enabled:true}") boolean redisEnabled,
+            @Value("${cache.product.redis.ttl:10m}") Duration redisTtl) {
+        this.redisTemplate = redisTemplate;
+        this.invalidationBus = invalidationBus;
+        this.objectMapper = objectMapper;
+        this.redisEnabled = redisEnabled;
+        this.redisTtl = redisTtl;
+
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(nearMaxSize)
+                .expireAfterWrite(nearTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, nearCache, "product.near");
+        this.loads = new SingleFlight<>("product", meterRegistry);
+
+        this.redisHits = cacheCounter(meterRegistry, "cache.gets", "result", "hit");
+        this.redisMisses = cacheCounter(meterRegistry, "cache.gets", "result", "miss");
+        this.redisEvictions = cacheCounter(meterRegistry, "cache.evictions");
+        this.redisErrors = cacheCounter(meterRegistry, "cache.errors");
+
+        invalidationBus.subscribe(TOPIC, this::onRemoteInvalidation);
+    }
+
+    private static Counter cacheCounter(MeterRegistry registry, String name, String... tags) {
+        return Counter.builder(name)
+                .tag("cache", "product.redis")
+                .tags(tags)
+                .register(registry);
+    }
+
+    /**
+     * Get a product from the near cache, then Redis, then the loader. Loaded values populate both tiers.
+     */
+    public ProductResponse get(Long id, Function<Long, ProductResponse> loader) {
+        ProductResponse cached = nearCache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        return loads.load(id, key -> loadThrough(key, loader));
+    }
+
+    private ProductResponse loadThrough(Long id, Function<Long, ProductResponse> loader) {
+        long generation = generations.get(stripe(id));
+        RedisRead cached = readRedis(id);
+        ProductResponse response = cached.value();
+        if (response == null) {
+            response = loader.apply(id);
+            if (!writeRedis(id, response, cached.generation())) {
+                return response;
+            }
+        }
+
+        if (generations.get(stripe(id)) == generation) {
+            nearCache.put(id, response);
+            // An eviction between the check and the put has already run its invalidate, or will
+            if (generations.get(stripe(id)) != generation) {
+                nearCache.asMap().remove(id, response);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Invalidate one product on every node once the current transaction commits
+     */
+    public void invalidate(Long id) {
+        invalidateAll(List.of(id));
+    }
+
+    /**
+     * Invalidate several products with one Redis delete and one broadcast message
+     */
+    public void invalidateAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        // Redis first, so a near-cache miss right after the local eviction cannot refill from stale Redis data
+        TransactionUtils.runAfterCommit(() -> {
+            deleteRedis(ids);
+            evictLocal(ids);
+            invalidationBus.publish(TOPIC, ids.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        });
+    }
+
+    /**
+     * Register a callback run whenever a product is evicted from this node, locally or by broadcast
+     */
+    public void addLocalInvalidationListener(LongConsumer listener) {
+        localInvalidationListeners.add(listener);
+    }
+
+    private void onRemoteInvalidation(String payload) {
+        try {
+            List<Long> ids = Arrays.stream(payload.split(","))
+                    .map(Long::valueOf)
+                    .collect(Collectors.toList());
+            evictLocal(ids);
+        } catch (NumberFormatException ex) {
+            log.warn("Ignoring malformed product invalidation message: {}", payload);
+        }
+    }
+
+    private void evictLocal(Collection<Long> ids) {
+        // Bump before evicting, so a load that checks after the eviction sees the change
+        ids.forEach(id -> generations.incrementAndGet(stripe(id)));
+        nearCache.invalidateAll(ids);
+        for (Long id : ids) {
+            localInvalidationListeners.forEach(listener -> listener.accept(id));
+        }
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (GENERATION_STRIPES - 1);
+    }
+
+    /**
+     * Cached value (null on a miss) and the id's generation: "" when it has none, null when Redis
+     * could not be read, in which case nothing is written back
+     */
+    private record RedisRead(ProductResponse value, String generation) {
+    }
+
+    private RedisRead readRedis(Long id) {
+        if (!redisEnabled) {
+            return new RedisRead(null, "");
+        }
+        try {
+            List<String> values = redisTemplate.opsForValue()
+                    .multiGet(List.of(KEY_PREFIX + id, GENERATION_PREFIX + id));
+            String json = values.get(0);
+            String generation = values.get(1) != null ? values.get(1) : "";
+            if (json == null) {
+                redisMisses.increment();
+                return new RedisRead(null, generation);
+            }
+            redisHits.increment();
+            return new RedisRead(objectMapper.readValue(json, ProductResponse.class), generation);
+        } catch (DataAccessException | JsonProcessingException ex) {
+            redisErrors.increment();
+            log.warn("Redis read failed for product {}: {}", id, ex.getMessage());
+            return new RedisRead(null, null);
+        }
+    }
+
+    /**
+     * Write the loaded value unless the product was invalidated since the generation was read;
+     * false when it was, so the value must not be cached anywhere
+     */
+    private boolean writeRedis(Long id, ProductResponse response, String generation) {
+        if (!redisEnabled || generation == null) {
+            return true;
+        }
+        try {
+            Long written = redisTemplate.execute(WRITE_IF_CURRENT, List.of(KEY_PREFIX + id, GENERATION_PREFIX + id),
+                    generation, objectMapper.writeValueAsString(response), Long.toString(redisTtl.toMillis()));
+            return written == null || written > 0;
+        } catch (DataAccessException | JsonProcessingException ex) {
+            redisErrors.increment();
+            log.warn("Redis write failed for product {}: {}", id, ex.getMessage());
+            return true;
+        }
+    }
+
+    private void deleteRedis(Collection<Long> ids) {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            List<String> keys = new ArrayList<>(ids.size() * 2);
+            for (Long id : ids) {
+                keys.add(KEY_PREFIX + id);
+                keys.add(GENERATION_PREFIX + id);
+            }
+            // The generation outlives any load that started before this invalidation
+            Long deleted = redisTemplate.execute(INVALIDATE, keys, Long.toString(redisTtl.toMillis()));
+            redisEvictions.increment(deleted != null ? deleted : 0);
+        } catch (DataAccessException ex) {
+            redisErrors.increment();
+            log.warn("Redis delete failed for products {}: {}", ids, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.eticaret.backend.cache;
+
+import com.eticaret.backend.dto.response.ProductResponse;
+import com.eticaret.backend.util.ETags;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Cache of fully serialized product JSON, so hot product reads skip both mapping and Jackson.
+ * Entries are dropped whenever ProductCache evicts a product and rebuilt lazily on the next read.
+ * A striped version counter guards against storing bytes built from data that was invalidated
+ * while the entry was being serialized; striping keeps its memory fixed however many products are
+ * invalidated, and a collision only skips caching one build. Each entry carries the product's ETag, so conditional
+ * requests for cached products are answered without any database or serialization work.
+ */
+@Component
+public class ProductJsonCache {
+
+    private static final int VERSION_STRIPES = 4096;
+
+    private final Cache<Long, Entry> cache;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public ProductJsonCache(ProductCache productCache,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${cache.product.json.enabled:true}") boolean enabled,
+            @Value("${cache.product.json.max-bytes:67108864}") long maxBytes,
+            @Value("${cache.product.json.ttl:60s}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long id, Entry entry) -> entry.json().length)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "product.json");
+
+        productCache.addLocalInvalidationListener(this::invalidate);
+    }
+
+    /**
+     * Get the serialized JSON and ETag for a product, building them from the loader on a miss
+     */
+    public Entry get(Long id, Function<Long, ProductResponse> loader) {
+        if (!enabled) {
+            return build(0L, loader.apply(id));
+        }
+
+        Entry cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = versions.get(stripe(id));
+        Entry built = build(version, loader.apply(id));
+        cache.asMap().compute(id, (key, current) -> versions.get(stripe(key)) == version ? built : current);
+        return built;
+    }
+
+    /**
+     * Drop the serialized entry; the version bump must happen before the removal
+     */
+    public void invalidate(long id) {
+        versions.incrementAndGet(stripe(id));
+        cache.invalidate(id);
+    }
+
+    private static int stripe(long id) {
+        return Long.hashCode(id) & (VERSION_STRIPES - 1);
+    }
+
+    private Entry build(long version, ProductResponse response) {
+        try {
+            return new Entry(version, ETags.forProduct(response), objectMapper.writeValueAsBytes(response));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize product " + response.getId(), ex);
+        }
+    }
+
+    /**
+     * Serialized product JSON and its ETag, tagged with the version it was built from.
+     */
+    public record Entry(long version, String etag, byte[] json) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.eticaret.backend.cache;
+
+import com.eticaret.backend.config.HibernateCacheConfig;
+import com.eticaret.backend.model.Category;
+import com.eticaret.backend.model.Product;
+import com.eticaret.backend.util.TransactionUtils;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the Hibernate second-level cache in step with writes Hibernate does not see: plain JDBC
+ * writes (bulk import and patch) and writes made on other nodes. Product evictions ride on
+ * ProductCache invalidations, which already cover both; category changes arrive on the category topic.
+ */
+@Component
+public class SecondLevelCacheEvictor {
+
+    private static final String CATEGORY_TOPIC = "category";
+    private static final String CATALOG_QUERIES_TOPIC = "catalog-queries";
+
+    private final Cache cache;
+    private final CacheInvalidationBus invalidationBus;
+
+    public SecondLevelCacheEvictor(EntityManagerFactory entityManagerFactory,
+            ProductCache productCache,
+            CacheInvalidationBus invalidationBus) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.invalidationBus = invalidationBus;
+
+        productCache.addLocalInvalidationListener(this::evictProduct);
+        invalidationBus.subscribe(CATEGORY_TOPIC, payload -> evictCategories());
+        invalidationBus.subscribe(CATALOG_QUERIES_TOPIC, payload -> evictCatalogQueries());
+    }
+
+    /**
+     * Drop cached catalog query results on every node once the current transaction commits;
+     * for rows inserted outside Hibernate
+     */
+    public void evictCatalogQueriesAfterCommit() {
+        TransactionUtils.runAfterCommit(() -> {
+            evictCatalogQueries();
+            invalidationBus.publish(CATALOG_QUERIES_TOPIC, "");
+        });
+    }
+
+    private void evictProduct(long id) {
+        cache.evictEntityData(Product.class, id);
+        evictCatalogQueries();
+    }
+
+    private void evictCategories() {
+        cache.evictEntityData(Category.class);
+        evictCatalogQueries();
+    }
+
+    private void evictCatalogQueries() {
+        cache.evictQueryRegion(HibernateCacheConfig.CATALOG_QUERY_REGION);
+    }
+}
@@ -0,0 +1,84 @@
+package com.eticaret.backend.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent loads of the same key. The first caller runs the loader on its own thread,
+ * and callers arriving while that load is in flight wait for the same future instead of loading
+ * again. Nothing is cached: once the load finishes, the next caller starts a new one.
+ * Failures are shared too, so every waiting caller gets the leader's exception.
+ *
+ * @param <K> key type
+ * @param <V> loaded value type
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executed = loadCounter(meterRegistry, name, "executed");
+        this.coalesced = loadCounter(meterRegistry, name, "coalesced");
+        Gauge.builder("singleflight.in_flight", inFlight, ConcurrentMap::size)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    private static Counter loadCounter(MeterRegistry registry, String name, String result) {
+        return Counter.builder("singleflight.loads")
+                .tag("name", name)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Load the value for the key, joining an in-flight load of the same key if there is one
+     */
+    public V load(K key, Function<K, V> loader) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        executed.increment();
+        try {
+            V value = loader.apply(key);
+            own.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            own.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    /**
+     * Rethrows the leader's exception as-is, so waiting callers see the same error types
+     */
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.eticaret.backend.cart;
+
+import com.eticaret.backend.repository.CartSummaryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Deletes cart lines untouched for cart.sweeper.idle-after, oldest first, in chunks of one short
+ * transaction each. Rows are claimed with FOR UPDATE SKIP LOCKED, so a line being changed by a
+ * shopper is skipped rather than waited for, and several nodes can sweep at once. Between chunks
+ * the sweeper rests at least as long as the chunk took, which keeps lock time and WAL volume
+ * (replication lag) to a fraction of the primary's capacity. A run sleeps on its scheduler thread,
+ * which is why the scheduler pool has a thread per job (see SchedulingConfig). In Redis mode a cart
+ * still held in Redis is written back by its next flush.
+ */
+@Component
+@ConditionalOnProperty(name = "cart.sweeper.enabled", havingValue = "true", matchIfMissing = true)
+public class AbandonedCartSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(AbandonedCartSweeper.class);
+
+    // The user ids are needed to rebuild the summaries, so the claimed rows are read before the delete
+    private static final String CLAIM_SQL = """
+            SELECT id, user_id FROM cart_items
+            WHERE COALESCE(updated_at, created_at) < ?
+            ORDER BY COALESCE(updated_at, created_at)
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM cart_items WHERE id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CartSummaryRepository cartSummaryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration idleAfter;
+    private final int chunkSize;
+    private final Duration minPause;
+    private final int maxChunksPerRun;
+    private final Counter reclaimedLines;
+    private final Counter failedChunks;
+    private final Timer chunkTimer;
+
+    public AbandonedCartSweeper(JdbcTemplate jdbcTemplate,
+            CartSummaryRepository cartSummaryRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${cart.sweeper.idle-after:30d}") Duration idleAfter,
+            @Value("${cart.sweeper.chunk-size:500}") int chunkSize,
+            @Value("${cart.sweeper.pause:100ms}") Duration minPause,
+            @Value("${cart.sweeper.max-chunks-per-run:200}") int maxChunksPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cartSummaryRepository = cartSummaryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idleAfter = idleAfter;
+        this.chunkSize = chunkSize;
+        this.minPause = minPause;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.reclaimedLines = Counter.builder("cart.sweeper.reclaimed").register(meterRegistry);
+        this.failedChunks = Counter.builder("cart.sweeper.failures").register(meterRegistry);
+        this.chunkTimer = Timer.builder("cart.sweeper.chunk").register(meterRegistry);
+    }
+
+    /**
+     * One sweep: chunks until no stale line is left or the per-run limit is reached. Returns the
+     * number of lines deleted.
+     */
+    @Scheduled(fixedDelayString = "${cart.sweeper.interval-ms:3600000}",
+            initialDelayString = "${cart.sweeper.initial-delay-ms:60000}")
+    public long sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(idleAfter);
+        long reclaimed = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            long started = System.nanoTime();
+            int deleted;
+            try {
+                deleted = chunkTimer.record(() -> transactionTemplate.execute(status -> deleteChunk(cutoff)));
+            } catch (RuntimeException ex) {
+                failedChunks.increment();
+                log.warn("Failed to delete abandoned cart lines, retrying on the next run", ex);
+                break;
+            }
+            reclaimed += deleted;
+            reclaimedLines.increment(deleted);
+            if (deleted < chunkSize) {
+                break;
+            }
+
+            long took = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            if (!pause(Math.max(minPause.toMillis(), took))) {
+                break;
+            }
+        }
+
+        if (reclaimed > 0) {
+            log.info("Deleted {} cart lines untouched since {}", reclaimed, cutoff);
+        }
+        return reclaimed;
+    }
+
+    private int deleteChunk(LocalDateTime cutoff) {
+        List<long[]> rows = jdbcTemplate.query(CLAIM_SQL,
+                (rs, rowNum) -> new long[] { rs.getLong("id"), rs.getLong("user_id") },
+                Timestamp.valueOf(cutoff), chunkSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.update(DELETE_SQL.formatted(String.join(", ", Collections.nCopies(rows.size(), "?"))),
+                rows.stream().map(row -> row[0]).toArray());
+        Set<Long> userIds = rows.stream().map(row -> row[1]).collect(Collectors.toSet());
+        cartSummaryRepository.recompute(userIds);
+        return rows.size();
+    }
+
+    /**
+     * False when the thread was interrupted (shutdown)
+     */
+    private static boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,600 @@
+package com.eticaret.backend.cart;
+
+import com.eticaret.backend.exception.BusinessException;
+import com.eticaret.backend.model.CartItem;
+import com.eticaret.backend.repository.CartItemRepository;
+import com.eticaret.backend.repository.CartSummaryRepository;
+import com.eticaret.backend.repository.ProductRepository;
+import com.eticaret.backend.repository.UserRepository;
+import com.eticaret.backend.util.MoneyUtils;
+import com.eticaret.backend.util.PooledIds;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Shopping carts held in Redis, one hash per user, written behind to cart_items.
+ * Hash fields are q:&lt;productId&gt; (quantity), p:&lt;productId&gt; (unit price when first added),
+ * i:&lt;productId&gt; (line id: the cart_items id the line has, or gets when it is first written), n and t (item count and total in minor units, kept up to date by the scripts that change lines)
+ * and a loaded marker, which tells an empty cart apart from one that still has to be read from
+ * Postgres. Every access renews the idle TTL; every change adds the user to a dirty set, which
+ * the flusher drains into cart_items in batches. A batch is claimed into a sorted set scored by
+ * claim time and released only after it is written, so a flusher dying mid-batch loses nothing:
+ * its claims go back to the dirty set once they time out. Checkout syncs the user's cart inside the order
+ * transaction, so orders are always built from the current cart.
+ */
+@Component
+@ConditionalOnProperty(name = "cart.storage", havingValue = "redis")
+public class RedisCartStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCartStore.class);
+
+    private static final String KEY_PREFIX = "eticaret:cart:";
+    private static final String DIRTY_KEY = "eticaret:cart:dirty";
+    private static final String CLAIMS_KEY = "eticaret:cart:flushing";
+    private static final String LOADED = "loaded";
+    private static final String QUANTITY = "q:";
+    private static final String PRICE = "p:";
+    private static final String LINE_ID = "i:";
+    private static final String ITEM_COUNT = "n";
+    private static final String TOTAL_MINOR = "t";
+
+    // Line changes are scripts so the summary fields always match the lines. KEYS: cart, dirty set;
+    // ARGV: idle TTL in ms, user id, then the change.
+    private static final String LINE_SCRIPT_PREAMBLE = """
+            local function minor(price)
+                local units, fraction = string.match(price, '^(%d+)%.?(%d*)$')
+                return tonumber(units) * 100 + tonumber(string.sub(fraction .. '00', 1, 2))
+            end
+            local function changed(items, price)
+                redis.call('HINCRBY', KEYS[1], 'n', items)
+                redis.call('HINCRBY', KEYS[1], 't', string.format('%d', items * minor(price)))
+                redis.call('PEXPIRE', KEYS[1], ARGV[1])
+                redis.call('SADD', KEYS[2], ARGV[2])
+            end
+            """;
+
+    // ARGV: product id, quantity, price, line id (used only if the line is new) quadruples; returns
+    // the new quantity, line price and line id of each
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ADD = new DefaultRedisScript<>(LINE_SCRIPT_PREAMBLE + """
+            local result = {}
+            for i = 3, #ARGV, 4 do
+                local quantity = redis.call('HINCRBY', KEYS[1], 'q:' .. ARGV[i], ARGV[i + 1])
+                redis.call('HSETNX', KEYS[1], 'p:' .. ARGV[i], ARGV[i + 2])
+                redis.call('HSETNX', KEYS[1], 'i:' .. ARGV[i], ARGV[i + 3])
+                local price = redis.call('HGET', KEYS[1], 'p:' .. ARGV[i])
+                changed(tonumber(ARGV[i + 1]), price)
+                table.insert(result, quantity)
+                table.insert(result, price)
+                table.insert(result, redis.call('HGET', KEYS[1], 'i:' .. ARGV[i]))
+            end
+            return result
+            """, List.class);
+
+    // ARGV: product id, new quantity (0 removes the line), line id; returns 0 when the cart has no
+    // such line, or the product's line has another id (it was removed and added again)
+    private static final RedisScript<Long> SET_QUANTITY = new DefaultRedisScript<>(LINE_SCRIPT_PREAMBLE + """
+            local old = redis.call('HGET', KEYS[1], 'q:' .. ARGV[3])
+            if not old or redis.call('HGET', KEYS[1], 'i:' .. ARGV[3]) ~= ARGV[5] then
+                return 0
+            end
+            local price = redis.call('HGET', KEYS[1], 'p:' .. ARGV[3])
+            if tonumber(ARGV[4]) == 0 then
+                redis.call('HDEL', KEYS[1], 'q:' .. ARGV[3], 'p:' .. ARGV[3], 'i:' .. ARGV[3])
+            else
+                redis.call('HSET', KEYS[1], 'q:' .. ARGV[3], ARGV[4])
+            end
+            changed(tonumber(ARGV[4]) - tonumber(old), price)
+            return 1
+            """, Long.class);
+
+    // Fill the hash only if no one created it in the meantime, so a concurrent change is never overwritten
+    private static final RedisScript<Long> HYDRATE = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], unpack(ARGV, 2))
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    private static final String ID_SEQUENCE = "cart_items_seq";
+    private static final String INSERT_SQL = """
+            INSERT INTO cart_items (id, user_id, product_id, quantity, price, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)""";
+
+    // KEYS: dirty set, claims; ARGV: batch size, now, claim time before which a claim has timed out.
+    // Moves timed-out claims back first, then claims a batch; returns the claimed user ids.
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM = new DefaultRedisScript<>("""
+            local timedOut = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[3], 'LIMIT', 0, ARGV[1])
+            if #timedOut > 0 then
+                redis.call('SADD', KEYS[1], unpack(timedOut))
+                redis.call('ZREM', KEYS[2], unpack(timedOut))
+            end
+            local users = redis.call('SPOP', KEYS[1], ARGV[1])
+            for _, user in ipairs(users) do
+                redis.call('ZADD', KEYS[2], ARGV[2], user)
+            end
+            return users
+            """, List.class);
+
+    // KEYS: claims; ARGV: claim time, then user ids. Leaves claims taken again since, by any flusher.
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            local released = 0
+            for i = 2, #ARGV do
+                if redis.call('ZSCORE', KEYS[1], ARGV[i]) == ARGV[1] then
+                    released = released + redis.call('ZREM', KEYS[1], ARGV[i])
+                end
+            end
+            return released
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final CartItemRepository cartItemRepository;
+    private final CartSummaryRepository cartSummaryRepository;
+    private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration idleTtl;
+    private final int flushBatchSize;
+    private final Duration flushClaimTimeout;
+    private final Counter flushedCarts;
+    private final Counter failedFlushes;
+    private final int idAllocationSize;
+    // Line ids this node has taken from cart_items_seq and not handed out yet
+    private final Deque<Long> freeLineIds = new ArrayDeque<>();
+
+    public RedisCartStore(StringRedisTemplate redisTemplate,
+            JdbcTemplate jdbcTemplate,
+            CartItemRepository cartItemRepository,
+            CartSummaryRepository cartSummaryRepository,
+            UserRepository userRepository,
+            ProductRepository productRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${cart.redis.idle-ttl:7d}") Duration idleTtl,
+            @Value("${cart.redis.flush-batch-size:200}") int flushBatchSize,
+            @Value("${cart.redis.flush-claim-timeout:5m}") Duration flushClaimTimeout,
+            @Value("${spring.jpa.properties.eticaret.id.allocation_size:50}") int idAllocationSize) {
+        this.redisTemplate = redisTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cartItemRepository = cartItemRepository;
+        this.cartSummaryRepository = cartSummaryRepository;
+        this.userRepository = userRepository;
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idleTtl = idleTtl;
+        this.flushBatchSize = flushBatchSize;
+        this.flushClaimTimeout = flushClaimTimeout;
+        this.flushedCarts = Counter.builder("cart.redis.flushed").register(meterRegistry);
+        this.failedFlushes = Counter.builder("cart.redis.flush.failures").register(meterRegistry);
+        this.idAllocationSize = idAllocationSize;
+    }
+
+    /**
+     * One cart line; id is its cart_items id, assigned when the line is added, so it stays the same
+     * across flushes, expiry and reloads
+     */
+    public record Line(long id, long productId, int quantity, BigDecimal price) {
+    }
+
+    /**
+     * Quantity to add to the product's line, and the unit price if the line is new
+     */
+    public record Addition(long productId, int quantity, BigDecimal price) {
+    }
+
+    /**
+     * Item count (sum of quantities) and total in minor units
+     */
+    public record Summary(int itemCount, long totalMinor) {
+    }
+
+    /**
+     * Lines of the user's cart, by product id
+     */
+    public List<Line> lines(long userId) {
+        return parse(load(userId));
+    }
+
+    /**
+     * The user's line for the product
+     */
+    public Optional<Line> line(long userId, long productId) {
+        return lines(userId).stream().filter(line -> line.productId() == productId).findFirst();
+    }
+
+    /**
+     * The user's line with the given line id
+     */
+    public Optional<Line> lineById(long userId, long lineId) {
+        return lines(userId).stream().filter(line -> line.id() == lineId).findFirst();
+    }
+
+    /**
+     * Add quantity to a line, creating it at the given price. Returns the line after the change.
+     */
+    public Line add(long userId, long productId, int quantity, BigDecimal price) {
+        return addAll(userId, List.of(new Addition(productId, quantity, price))).get(0);
+    }
+
+    /**
+     * Add several lines in one round trip; returns the lines after the change, in the same order.
+     * Every addition is offered a fresh line id; the ones that land on an existing line are kept for later.
+     */
+    public List<Line> addAll(long userId, List<Addition> additions) {
+        load(userId);
+        List<Long> offeredIds = takeLineIds(additions.size());
+        List<String> args = changeArgs(userId);
+        for (int i = 0; i < additions.size(); i++) {
+            Addition addition = additions.get(i);
+            args.add(Long.toString(addition.productId()));
+            args.add(Integer.toString(addition.quantity()));
+            args.add(addition.price().toPlainString());
+            args.add(Long.toString(offeredIds.get(i)));
+        }
+        List<?> results;
+        try {
+            results = redisTemplate.execute(ADD, List.of(key(userId), DIRTY_KEY), args.toArray());
+        } catch (RuntimeException ex) {
+            returnLineIds(offeredIds);
+            throw ex;
+        }
+
+        List<Line> lines = new ArrayList<>(additions.size());
+        List<Long> unused = new ArrayList<>();
+        for (int i = 0; i < additions.size(); i++) {
+            long id = Long.parseLong((String) results.get(i * 3 + 2));
+            if (id != offeredIds.get(i)) {
+                unused.add(offeredIds.get(i));
+            }
+            lines.add(new Line(id, additions.get(i).productId(), ((Long) results.get(i * 3)).intValue(),
+                    new BigDecimal((String) results.get(i * 3 + 1))));
+        }
+        returnLineIds(unused);
+        return lines;
+    }
+
+    /**
+     * Ids for new lines; the free list is refilled a whole sequence block at a time, so most adds run no SQL
+     */
+    private synchronized List<Long> takeLineIds(int count) {
+        while (freeLineIds.size() < count) {
+            freeLineIds.addAll(PooledIds.nextBlock(jdbcTemplate, ID_SEQUENCE, idAllocationSize));
+        }
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(freeLineIds.poll());
+        }
+        return ids;
+    }
+
+    private synchronized void returnLineIds(List<Long> ids) {
+        ids.forEach(freeLineIds::push);
+    }
+
+    /**
+     * Set the quantity of an existing line; false when the cart no longer has that line
+     */
+    public boolean setQuantity(long userId, Line line, int quantity) {
+        load(userId);
+        return changeLine(userId, line, quantity);
+    }
+
+    /**
+     * Remove a line; false when the cart no longer has that line
+     */
+    public boolean remove(long userId, Line line) {
+        load(userId);
+        return changeLine(userId, line, 0);
+    }
+
+    private boolean changeLine(long userId, Line line, int quantity) {
+        List<String> args = changeArgs(userId);
+        args.add(Long.toString(line.productId()));
+        args.add(Integer.toString(quantity));
+        args.add(Long.toString(line.id()));
+        return redisTemplate.execute(SET_QUANTITY, List.of(key(userId), DIRTY_KEY), args.toArray()) > 0;
+    }
+
+    private List<String> changeArgs(long userId) {
+        List<String> args = new ArrayList<>();
+        args.add(Long.toString(idleTtl.toMillis()));
+        args.add(Long.toString(userId));
+        return args;
+    }
+
+    /**
+     * The cart's summary from the hash, or from cart_summaries when the cart is not in Redis; never
+     * reads the lines
+     */
+    public Summary summary(long userId) {
+        List<Object> values = redisTemplate.opsForHash()
+                .multiGet(key(userId), List.of(LOADED, ITEM_COUNT, TOTAL_MINOR));
+        if (values.get(0) == null) {
+            return cartSummaryRepository.findById(userId)
+                    .map(summary -> new Summary(summary.getItemCount(), summary.getTotalMinor()))
+                    .orElse(new Summary(0, 0));
+        }
+        return new Summary(values.get(1) != null ? Integer.parseInt((String) values.get(1)) : 0,
+                values.get(2) != null ? Long.parseLong((String) values.get(2)) : 0);
+    }
+
+    /**
+     * Empty the cart. Left as an empty, loaded cart marked dirty rather than deleted, so the next
+     * flush also empties cart_items even if an older flush of this cart is still in flight.
+     */
+    public void clear(long userId) {
+        String key = key(userId);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                operations.delete(key);
+                operations.opsForHash().put(key, LOADED, "1");
+                markChanged(operations, key, userId);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Write the user's cart to cart_items in the caller's transaction (checkout). The user stays in
+     * the dirty set, so a rolled-back checkout is written again by the flusher.
+     */
+    public void flush(long userId) {
+        Map<Object, Object> hash = redisTemplate.opsForHash().entries(key(userId));
+        if (hash.isEmpty()) {
+            // Not in Redis: cart_items already holds the cart
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> sync(Map.of(userId, parse(hash))));
+    }
+
+    /**
+     * Drain the dirty set into cart_items, one transaction per batch of carts. Each batch stays
+     * claimed until it is written; failing carts are marked dirty again before the claim is released.
+     */
+    @Scheduled(fixedDelayString = "${cart.redis.flush-interval-ms:5000}")
+    public void flushDirty() {
+        List<String> userIds;
+        do {
+            long claimedAt = System.currentTimeMillis();
+            userIds = claim(claimedAt);
+            if (userIds.isEmpty()) {
+                return;
+            }
+
+            Map<Long, List<Line>> carts = new HashMap<>();
+            for (String userId : userIds) {
+                Map<Object, Object> hash = redisTemplate.opsForHash().entries(KEY_PREFIX + userId);
+                // An expired cart was written when it last changed; nothing left to flush
+                if (!hash.isEmpty()) {
+                    carts.put(Long.parseLong(userId), parse(hash));
+                }
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> sync(carts));
+                flushedCarts.increment(carts.size());
+            } catch (RuntimeException ex) {
+                log.warn("Failed to flush {} carts to the database, retrying one by one", carts.size(), ex);
+                flushEach(carts);
+            }
+            release(claimedAt, userIds);
+        } while (userIds.size() == flushBatchSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> claim(long claimedAt) {
+        List<String> userIds = redisTemplate.execute(CLAIM, List.of(DIRTY_KEY, CLAIMS_KEY),
+                Integer.toString(flushBatchSize), Long.toString(claimedAt),
+                Long.toString(claimedAt - flushClaimTimeout.toMillis()));
+        return userIds != null ? userIds : List.of();
+    }
+
+    private void release(long claimedAt, List<String> userIds) {
+        List<String> args = new ArrayList<>(userIds.size() + 1);
+        args.add(Long.toString(claimedAt));
+        args.addAll(userIds);
+        redisTemplate.execute(RELEASE, List.of(CLAIMS_KEY), args.toArray());
+    }
+
+    /**
+     * Flush each cart in its own transaction, so one failing cart cannot hold back the others;
+     * only the failing carts go back into the dirty set
+     */
+    private void flushEach(Map<Long, List<Line>> carts) {
+        carts.forEach((userId, lines) -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> sync(Map.of(userId, lines)));
+                flushedCarts.increment();
+            } catch (RuntimeException ex) {
+                failedFlushes.increment();
+                redisTemplate.opsForSet().add(DIRTY_KEY, userId.toString());
+                log.warn("Failed to flush cart of user {} to the database, will retry", userId, ex);
+            }
+        });
+    }
+
+    /**
+     * Make cart_items match the given carts: insert new lines, update changed ones, delete the rest.
+     * Lines are inserted with their line id, so the row keeps the id clients already have.
+     */
+    private void sync(Map<Long, List<Line>> allCarts) {
+        Map<Long, List<Line>> carts = dropOrphans(allCarts);
+        if (carts.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Map<Long, CartItem>> rowsByUser = cartItemRepository.findByUserIdIn(carts.keySet()).stream()
+                .collect(Collectors.groupingBy(item -> item.getUser().getId(),
+                        Collectors.toMap(item -> item.getProduct().getId(), item -> item)));
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> inserts = new ArrayList<>();
+        List<CartItem> deletes = new ArrayList<>();
+        carts.forEach((userId, lines) -> {
+            Map<Long, CartItem> rows = new HashMap<>(rowsByUser.getOrDefault(userId, Map.of()));
+            for (Line line : lines) {
+                CartItem row = rows.remove(line.productId());
+                if (row == null || row.getId() != line.id()) {
+                    // A row under another id is left from a line that was removed and added again
+                    if (row != null) {
+                        deletes.add(row);
+                    }
+                    inserts.add(new Object[] { line.id(), userId, line.productId(), line.quantity(), line.price(),
+                            now, now });
+                } else if (row.getQuantity() != line.quantity() || row.getPrice().compareTo(line.price()) != 0) {
+                    // Managed entity; written by dirty checking at commit
+                    row.setQuantity(line.quantity());
+                    row.setPrice(line.price());
+                }
+            }
+            deletes.addAll(rows.values());
+        });
+
+        if (!deletes.isEmpty()) {
+            cartItemRepository.deleteAllInBatch(deletes);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        }
+        // Serves summaries of carts that have left Redis
+        cartSummaryRepository.recompute(carts.keySet());
+    }
+
+    /**
+     * The carts without what the database no longer has. A line can live only in Redis, so deleting
+     * its product (or its user) does not see it; writing it would then fail on the foreign key on every
+     * retry. Lines of deleted products are removed from their hash, carts of deleted users are dropped.
+     */
+    private Map<Long, List<Line>> dropOrphans(Map<Long, List<Line>> carts) {
+        if (carts.isEmpty()) {
+            return carts;
+        }
+        Set<Long> productIds = carts.values().stream()
+                .flatMap(List::stream)
+                .map(Line::productId)
+                .collect(Collectors.toSet());
+        Set<Long> existingProducts = productIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(productRepository.findExistingIds(productIds));
+        Set<Long> existingUsers = new HashSet<>(userRepository.findExistingIds(carts.keySet()));
+
+        Map<Long, List<Line>> live = new HashMap<>();
+        carts.forEach((userId, lines) -> {
+            if (!existingUsers.contains(userId)) {
+                log.info("Dropping cart of deleted user {}", userId);
+                redisTemplate.delete(key(userId));
+                return;
+            }
+            List<Line> kept = new ArrayList<>(lines.size());
+            for (Line line : lines) {
+                if (existingProducts.contains(line.productId())) {
+                    kept.add(line);
+                } else {
+                    log.info("Dropping line of deleted product {} from cart of user {}", line.productId(), userId);
+                    changeLine(userId, line, 0);
+                }
+            }
+            live.put(userId, kept);
+        });
+        return live;
+    }
+
+    /**
+     * The cart hash, loaded from cart_items first when Redis does not have it; renews the idle TTL
+     */
+    private Map<Object, Object> load(long userId) {
+        String key = key(userId);
+        Map<Object, Object> hash = redisTemplate.opsForHash().entries(key);
+        if (!hash.isEmpty()) {
+            redisTemplate.expire(key, idleTtl);
+            return hash;
+        }
+
+        if (!userRepository.existsById(userId)) {
+            throw new BusinessException("User not found with id: " + userId);
+        }
+        List<String> args = new ArrayList<>();
+        args.add(Long.toString(idleTtl.toMillis()));
+        args.add(LOADED);
+        args.add("1");
+        int itemCount = 0;
+        long totalMinor = 0;
+        for (CartItem item : cartItemRepository.findByUserId(userId)) {
+            Long productId = item.getProduct().getId();
+            args.add(QUANTITY + productId);
+            args.add(item.getQuantity().toString());
+            args.add(PRICE + productId);
+            args.add(item.getPrice().toPlainString());
+            args.add(LINE_ID + productId);
+            args.add(item.getId().toString());
+            itemCount += item.getQuantity();
+            totalMinor += MoneyUtils.toMinorUnits(item.getPrice()) * item.getQuantity();
+        }
+        args.add(ITEM_COUNT);
+        args.add(Integer.toString(itemCount));
+        args.add(TOTAL_MINOR);
+        args.add(Long.toString(totalMinor));
+        redisTemplate.execute(HYDRATE, List.of(key), args.toArray());
+        return redisTemplate.opsForHash().entries(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void markChanged(RedisOperations operations, String key, long userId) {
+        operations.expire(key, idleTtl);
+        operations.opsForSet().add(DIRTY_KEY, Long.toString(userId));
+    }
+
+    private static List<Line> parse(Map<Object, Object> hash) {
+        List<Line> lines = new ArrayList<>();
+        hash.forEach((field, value) -> {
+            String name = (String) field;
+            if (name.startsWith(QUANTITY)) {
+                long productId = Long.parseLong(name.substring(QUANTITY.length()));
+                lines.add(new Line(Long.parseLong((String) hash.get(LINE_ID + productId)), productId,
+                        Integer.parseInt((String) value), new BigDecimal((String) hash.get(PRICE + productId))));
+            }
+        });
+        lines.sort(Comparator.comparingLong(Line::productId));
+        return lines;
+    }
+
+    private static String key(long userId) {
+        return KEY_PREFIX + userId;
+    }
+}
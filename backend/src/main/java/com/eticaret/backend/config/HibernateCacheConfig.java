@@ -0,0 +1,78 @@
+package com.eticaret.backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache for the read-mostly reference entities (Product, Category) and the
+ * catalog list queries, held in bounded in-process Caffeine caches behind the JCache API.
+ * Regions are created here rather than on first use, so each gets an explicit size bound and TTL.
+ * Writes through Hibernate update the regions themselves; JDBC writes and writes on other nodes are
+ * evicted by SecondLevelCacheEvictor. Hit/miss statistics are published as hibernate.* metrics.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String PRODUCT_REGION = "entity.product";
+    public static final String CATEGORY_REGION = "entity.category";
+    public static final String CATALOG_QUERY_REGION = "query.catalog";
+
+    private static final String DEFAULT_QUERY_REGION = "default-query-results-region";
+    private static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${cache.hibernate.product.max-size:10000}") long productMaxSize,
+            @Value("${cache.hibernate.product.ttl:10m}") Duration productTtl,
+            @Value("${cache.hibernate.category.max-size:1000}") long categoryMaxSize,
+            @Value("${cache.hibernate.category.ttl:30m}") Duration categoryTtl,
+            @Value("${cache.hibernate.queries.max-size:1000}") long queriesMaxSize,
+            @Value("${cache.hibernate.queries.ttl:60s}") Duration queriesTtl) {
+        CaffeineCachingProvider provider = new CaffeineCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(),
+                HibernateCacheConfig.class.getClassLoader());
+
+        cacheManager.createCache(PRODUCT_REGION, region(productMaxSize, productTtl));
+        cacheManager.createCache(CATEGORY_REGION, region(categoryMaxSize, categoryTtl));
+        cacheManager.createCache(CATALOG_QUERY_REGION, region(queriesMaxSize, queriesTtl));
+        cacheManager.createCache(DEFAULT_QUERY_REGION, region(queriesMaxSize, queriesTtl));
+        // One entry per table; must never expire before the query results that depend on it
+        cacheManager.createCache(TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        return configuration;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager,
+            @Value("${cache.hibernate.enabled:true}") boolean enabled) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            if (!enabled) {
+                return;
+            }
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // Every region is declared above; a missing one is a mapping mistake
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+}
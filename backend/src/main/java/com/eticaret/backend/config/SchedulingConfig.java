@@ -0,0 +1,14 @@
+package com.eticaret.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (index rebuilds, periodic flushes).
+ * The scheduler pool (spring.task.scheduling.pool.size) has a thread for every job; the default of
+ * one would let a long job, such as AbandonedCartSweeper, hold up all the others.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
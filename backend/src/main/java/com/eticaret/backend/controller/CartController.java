@@ -1,7 +1,10 @@
 package com.eticaret.backend.controller;
 
 import com.eticaret.backend.dto.request.AddToCartRequest;
+import com.eticaret.backend.dto.request.BatchAddToCartRequest;
+import com.eticaret.backend.dto.response.BatchAddToCartResponse;
 import com.eticaret.backend.dto.response.CartItemResponse;
+import com.eticaret.backend.dto.response.CartSummaryResponse;
 import com.eticaret.backend.service.CartService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -35,6 +38,17 @@ public class CartController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Adds every item it can and reports the outcome per item, so the status is 200 even when some fail
+     */
+    @PostMapping("/{userId}/items/batch")
+    public ResponseEntity<BatchAddToCartResponse> addToCartBatch(@PathVariable Long userId,
+            @Valid @RequestBody BatchAddToCartRequest request) {
+        log.info("Adding {} items to cart for user: {}", request.getItems().size(), userId);
+        BatchAddToCartResponse response = cartService.addToCartBatch(userId, request);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{userId}")
     public ResponseEntity<List<CartItemResponse>> getCartItems(@PathVariable Long userId) {
         log.debug("Fetching cart items for user: {}", userId);
@@ -42,6 +56,19 @@ public class CartController {
         return ResponseEntity.ok(items);
     }
 
+    /**
+     * Item count and total, maintained on every cart change; cheaper than fetching the items
+     */
+    @GetMapping("/{userId}/summary")
+    public ResponseEntity<CartSummaryResponse> getCartSummary(@PathVariable Long userId) {
+        log.debug("Fetching cart summary for user: {}", userId);
+        CartSummaryResponse summary = cartService.getCartSummary(userId);
+        return ResponseEntity.ok(summary);
+    }
+
+    /**
+     * cartItemId is the id of a returned cart item (its cart_items id), never a product id
+     */
     @PutMapping("/{userId}/items/{cartItemId}")
     public ResponseEntity<CartItemResponse> updateQuantity(@PathVariable Long userId,
             @PathVariable Long cartItemId,
@@ -51,6 +78,9 @@ public class CartController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * cartItemId as for updateQuantity; an id of a removed line is not found
+     */
     @DeleteMapping("/{userId}/items/{cartItemId}")
     public ResponseEntity<Void> removeFromCart(@PathVariable Long userId,
             @PathVariable Long cartItemId) {
@@ -5,6 +5,8 @@ import com.eticaret.backend.dto.request.UpdateCategoryRequest;
 import com.eticaret.backend.dto.response.ApiResponse;
 import com.eticaret.backend.dto.response.CategoryResponse;
 import com.eticaret.backend.service.CategoryService;
+import com.eticaret.backend.service.CategoryService.Versioned;
+import com.eticaret.backend.util.ETags;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +19,8 @@ import java.util.List;
 /**
  * REST Controller for Category operations.
  * Handles HTTP requests for category management.
+ * Reads carry strong ETags built from category ids and updatedAt, so unchanged
+ * categories are answered with 304.
  */
 @RestController
 @RequestMapping("/api/categories")
@@ -24,6 +28,8 @@ public class CategoryController {
 
     private static final Logger log = LoggerFactory.getLogger(CategoryController.class);
 
+    static final String VERSION_HEADER = "X-Categories-Version";
+
     private final CategoryService categoryService;
 
     public CategoryController(CategoryService categoryService) {
@@ -53,8 +59,11 @@ public class CategoryController {
     public ResponseEntity<ApiResponse<CategoryResponse>> getCategoryById(@PathVariable Long id) {
         log.info("REST request to get category by id: {}", id);
 
-        CategoryResponse response = categoryService.getCategoryById(id);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        Versioned<CategoryResponse> response = categoryService.getVersionedCategoryById(id);
+        return ResponseEntity.ok()
+                .eTag(ETags.forCategory(response.value()))
+                .header(VERSION_HEADER, String.valueOf(response.version()))
+                .body(ApiResponse.success(response.value()));
     }
 
     /**
@@ -66,11 +75,12 @@ public class CategoryController {
             @RequestParam(required = false, defaultValue = "false") boolean activeOnly) {
         log.info("REST request to get all categories, activeOnly: {}", activeOnly);
 
-        List<CategoryResponse> response = activeOnly
-                ? categoryService.getActiveCategories()
-                : categoryService.getAllCategories();
+        Versioned<List<CategoryResponse>> response = categoryService.getCategories(activeOnly);
 
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return ResponseEntity.ok()
+                .eTag(ETags.forCategories(response.value()))
+                .header(VERSION_HEADER, String.valueOf(response.version()))
+                .body(ApiResponse.success(response.value()));
     }
 
     /**
@@ -1,20 +1,43 @@
 package com.eticaret.backend.controller;
 
+import com.eticaret.backend.cache.ProductJsonCache;
+import com.eticaret.backend.dto.request.BulkProductPatchRequest;
 import com.eticaret.backend.dto.request.CreateProductRequest;
 import com.eticaret.backend.dto.request.UpdateProductRequest;
+import com.eticaret.backend.dto.response.BulkProductPatchResponse;
+import com.eticaret.backend.dto.response.PaginationResponse;
+import com.eticaret.backend.dto.response.ProductFacetResponse;
 import com.eticaret.backend.dto.response.ProductResponse;
+import com.eticaret.backend.dto.response.ProductSuggestionResponse;
+import com.eticaret.backend.dto.response.ProductImportResponse;
+import com.eticaret.backend.service.ProductBulkUpdateService;
+import com.eticaret.backend.service.ProductExportService;
+import com.eticaret.backend.service.ProductImportService;
 import com.eticaret.backend.service.ProductService;
+import com.eticaret.backend.service.ProductService.Tagged;
+import com.eticaret.backend.stats.ProductViewCounter;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST Controller for Product operations.
+ * Catalog reads carry strong ETags. Single products hash their ids and updatedAt; listings derive
+ * theirs from the catalog versions before querying, so a matching If-None-Match is answered with
+ * 304 without reading any product.
  */
 @RestController
 @RequestMapping("/api/products")
@@ -22,10 +45,24 @@ public class ProductController {
 
     private static final Logger log = LoggerFactory.getLogger(ProductController.class);
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final ProductService productService;
+    private final ProductJsonCache productJsonCache;
+    private final ProductExportService productExportService;
+    private final ProductImportService productImportService;
+    private final ProductBulkUpdateService productBulkUpdateService;
+    private final ProductViewCounter productViewCounter;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductJsonCache productJsonCache,
+            ProductExportService productExportService, ProductImportService productImportService,
+            ProductBulkUpdateService productBulkUpdateService, ProductViewCounter productViewCounter) {
         this.productService = productService;
+        this.productJsonCache = productJsonCache;
+        this.productExportService = productExportService;
+        this.productImportService = productImportService;
+        this.productBulkUpdateService = productBulkUpdateService;
+        this.productViewCounter = productViewCounter;
     }
 
     @PostMapping
@@ -35,26 +72,115 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Returns pre-serialized JSON bytes, which are copied straight to the response stream.
+     * Counts as a product view, including 304 revalidations.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
+    public ResponseEntity<byte[]> getProductById(@PathVariable Long id) {
         log.debug("Fetching product with id: {}", id);
-        ProductResponse response = productService.getProductById(id);
-        return ResponseEntity.ok(response);
+        ProductJsonCache.Entry entry = productJsonCache.get(id, productService::getProductById);
+        productViewCounter.record(id);
+        return ResponseEntity.ok()
+                .eTag(entry.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(entry.json());
     }
 
     @GetMapping
-    public ResponseEntity<List<ProductResponse>> getAllProducts(@RequestParam(required = false) Boolean active) {
-        log.debug("Fetching products. Active filter: {}", active);
-        List<ProductResponse> products = active != null && active ? productService.getActiveProducts()
-                : productService.getAllProducts();
+    public ResponseEntity<PaginationResponse<ProductResponse>> getAllProducts(
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        log.debug("Fetching products. Active filter: {}, cursor: {}", active, cursor);
+        Tagged<PaginationResponse<ProductResponse>> products = active != null && active
+                ? productService.getActiveProductsPage(cursor, size, webRequest::checkNotModified)
+                : productService.getProductsPage(cursor, size, webRequest::checkNotModified);
+        return tagged(products);
+    }
+
+    /**
+     * Bulk import from a raw CSV (header line required) or NDJSON request body, read as a stream.
+     */
+    @PostMapping(value = "/import", consumes = { "text/csv", "application/x-ndjson" })
+    public ResponseEntity<ProductImportResponse> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+        log.info("Importing products. Content type: {}", contentType);
+        ProductImportResponse response = NDJSON.includes(contentType)
+                ? productImportService.importNdjson(body)
+                : productImportService.importCsv(body);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Streams the whole catalog as NDJSON on an async thread, optionally gzip encoded.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "false") boolean gzip) {
+        log.info("Exporting product catalog. Gzip: {}", gzip);
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : new BufferedOutputStream(out, 64 * 1024);
+            productExportService.exportNdjson(target);
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+            target.flush();
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.ndjson\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductResponse>> searchProducts(@RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest webRequest) {
+        log.debug("Searching products. Query: {}", query);
+        return tagged(productService.searchProducts(query, limit, webRequest::checkNotModified));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestionResponse>> suggestProducts(@RequestParam("q") String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<ProductSuggestionResponse> suggestions = productService.suggestProducts(prefix, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<ProductResponse>> getTrendingProducts(@RequestParam(defaultValue = "10") int limit) {
+        log.debug("Fetching trending products, limit: {}", limit);
+        List<ProductResponse> products = productService.getTrendingProducts(limit);
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping("/facets")
+    public ResponseEntity<ProductFacetResponse> filterProducts(
+            @RequestParam(name = "categoryId", required = false) List<Long> categoryIds,
+            @RequestParam(name = "price", required = false) List<String> priceBuckets,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.debug("Filtering products. Categories: {}, prices: {}", categoryIds, priceBuckets);
+        ProductFacetResponse response = productService.filterProducts(categoryIds, priceBuckets, active, inStock,
+                limit);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<List<ProductResponse>> getProductsByCategory(@PathVariable Long categoryId) {
-        log.debug("Fetching products for category: {}", categoryId);
-        List<ProductResponse> products = productService.getProductsByCategory(categoryId);
-        return ResponseEntity.ok(products);
+    public ResponseEntity<PaginationResponse<ProductResponse>> getProductsByCategory(@PathVariable Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        log.debug("Fetching products for category: {}. Cursor: {}", categoryId, cursor);
+        return tagged(productService.getProductsByCategoryPage(categoryId, cursor, size,
+                webRequest::checkNotModified));
     }
 
     @PutMapping("/{id}")
@@ -65,10 +191,32 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Patch price, stock and active flag of many products in one statement; results are per patch.
+     */
+    @PatchMapping("/bulk")
+    public ResponseEntity<BulkProductPatchResponse> patchProducts(@Valid @RequestBody BulkProductPatchRequest request) {
+        log.info("Bulk patching {} products", request.getPatches().size());
+        BulkProductPatchResponse response = productBulkUpdateService.patchProducts(request);
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteProduct(@PathVariable Long id) {
         log.info("Deleting product with id: {}", id);
         productService.deleteProduct(id);
         return ResponseEntity.ok("Product deleted successfully");
     }
+
+    /**
+     * Null means checkNotModified has already turned the response into a 304
+     */
+    private static <T> ResponseEntity<T> tagged(Tagged<T> read) {
+        if (read == null) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(read.etag())
+                .body(read.value());
+    }
 }
@@ -0,0 +1,40 @@
+package com.eticaret.backend.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Keeps reads on the current thread on the primary even inside a read-only transaction. Used for
+ * results that go into the Hibernate query cache: a replica lagging behind a write would otherwise
+ * store a page older than the invalidation that write caused, and it would be served until its TTL.
+ * The connection is chosen at the transaction's first statement, so the scope has to cover it.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private PrimaryReads() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Run the reads with replicas disabled for this thread
+     */
+    public static <T> T call(Supplier<T> reads) {
+        int[] depth = DEPTH.get();
+        depth[0]++;
+        try {
+            return reads.get();
+        } finally {
+            if (--depth[0] == 0) {
+                DEPTH.remove();
+            }
+        }
+    }
+
+    /**
+     * Whether reads on this thread must stay on the primary
+     */
+    static boolean active() {
+        return DEPTH.get()[0] > 0;
+    }
+}
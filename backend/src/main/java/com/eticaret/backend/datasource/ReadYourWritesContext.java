@@ -0,0 +1,47 @@
+package com.eticaret.backend.datasource;
+
+/**
+ * Per-request record of whether a read-write transaction has run. Once it has, later read-only
+ * transactions in the same request stay on the primary, so they see what the request wrote
+ * instead of a replica that may not have replayed it yet. Outside a request scope nothing is recorded.
+ */
+public final class ReadYourWritesContext {
+
+    private static final ThreadLocal<boolean[]> WRITTEN = new ThreadLocal<>();
+
+    private ReadYourWritesContext() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Start a scope on this thread; called when a request begins
+     */
+    public static void begin() {
+        WRITTEN.set(new boolean[1]);
+    }
+
+    /**
+     * End the scope on this thread; called when a request completes
+     */
+    public static void end() {
+        WRITTEN.remove();
+    }
+
+    /**
+     * Record that the current scope has used the primary for a read-write transaction
+     */
+    static void markWritten() {
+        boolean[] written = WRITTEN.get();
+        if (written != null) {
+            written[0] = true;
+        }
+    }
+
+    /**
+     * Whether reads in the current scope must stay on the primary
+     */
+    static boolean hasWritten() {
+        boolean[] written = WRITTEN.get();
+        return written != null && written[0];
+    }
+}
@@ -0,0 +1,85 @@
+package com.eticaret.backend.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy: transaction managers ask for a connection
+ * before the transaction is marked read-only, and the proxy delays the real request until
+ * the first statement, when the flag is known.
+ * Reads inside a PrimaryReads scope stay on the primary. If every replica fails, reads fall back
+ * to the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ReplicaPool replicas;
+
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter fallbackConnections;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaPool replicas, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.primaryConnections = routingCounter(meterRegistry, "primary");
+        this.replicaConnections = routingCounter(meterRegistry, "replica");
+        this.fallbackConnections = routingCounter(meterRegistry, "primary_fallback");
+    }
+
+    private static Counter routingCounter(MeterRegistry registry, String target) {
+        return Counter.builder("datasource.routing")
+                .tag("target", target)
+                .register(registry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!routeToReplica()) {
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+
+        ReplicaPool.Replica replica;
+        while ((replica = replicas.next()) != null) {
+            try {
+                Connection connection = replica.dataSource().getConnection();
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException ex) {
+                replicas.eject(replica, ex);
+            }
+        }
+
+        fallbackConnections.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Credentials are configured per pool");
+    }
+
+    /**
+     * Only read-only transactions go to a replica, only until the request has written, and never
+     * inside a PrimaryReads scope
+     */
+    private boolean routeToReplica() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return false;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ReadYourWritesContext.markWritten();
+            return false;
+        }
+        return !PrimaryReads.active() && !ReadYourWritesContext.hasWritten();
+    }
+}
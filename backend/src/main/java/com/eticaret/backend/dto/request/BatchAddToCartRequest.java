@@ -0,0 +1,29 @@
+package com.eticaret.backend.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+/**
+ * DTO for adding several products to a cart at once (reorder, bundles).
+ * Items are validated one by one, so one bad item does not reject the others.
+ */
+public class BatchAddToCartRequest {
+
+    @NotEmpty(message = "At least one item is required")
+    private List<AddToCartRequest> items;
+
+    public BatchAddToCartRequest() {
+    }
+
+    public BatchAddToCartRequest(List<AddToCartRequest> items) {
+        this.items = items;
+    }
+
+    public List<AddToCartRequest> getItems() {
+        return items;
+    }
+
+    public void setItems(List<AddToCartRequest> items) {
+        this.items = items;
+    }
+}
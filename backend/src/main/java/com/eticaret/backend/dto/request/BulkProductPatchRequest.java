@@ -0,0 +1,100 @@
+package com.eticaret.backend.dto.request;
+
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for patching price, stock and active flag of many products at once.
+ * Each patch targets a product by id or by SKU; omitted fields are left unchanged.
+ */
+public class BulkProductPatchRequest {
+
+    @NotEmpty(message = "At least one patch is required")
+    private List<ProductPatch> patches;
+
+    public BulkProductPatchRequest() {
+    }
+
+    public BulkProductPatchRequest(List<ProductPatch> patches) {
+        this.patches = patches;
+    }
+
+    public List<ProductPatch> getPatches() {
+        return patches;
+    }
+
+    public void setPatches(List<ProductPatch> patches) {
+        this.patches = patches;
+    }
+
+    /**
+     * A single product patch. Validated per row, so one bad patch does not reject the others.
+     */
+    public static class ProductPatch {
+
+        private Long id;
+
+        @Size(max = 100, message = "SKU cannot exceed 100 characters")
+        private String sku;
+
+        @DecimalMin(value = "0.01", message = "Price must be greater than 0")
+        private BigDecimal price;
+
+        @Min(value = 0, message = "Stock quantity cannot be negative")
+        private Integer stockQuantity;
+
+        private Boolean active;
+
+        public ProductPatch() {
+        }
+
+        public ProductPatch(Long id, String sku, BigDecimal price, Integer stockQuantity, Boolean active) {
+            this.id = id;
+            this.sku = sku;
+            this.price = price;
+            this.stockQuantity = stockQuantity;
+            this.active = active;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getSku() {
+            return sku;
+        }
+
+        public void setSku(String sku) {
+            this.sku = sku;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public void setPrice(BigDecimal price) {
+            this.price = price;
+        }
+
+        public Integer getStockQuantity() {
+            return stockQuantity;
+        }
+
+        public void setStockQuantity(Integer stockQuantity) {
+            this.stockQuantity = stockQuantity;
+        }
+
+        public Boolean getActive() {
+            return active;
+        }
+
+        public void setActive(Boolean active) {
+            this.active = active;
+        }
+    }
+}
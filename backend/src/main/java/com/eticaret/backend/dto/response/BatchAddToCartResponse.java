@@ -0,0 +1,120 @@
+package com.eticaret.backend.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the result of a batch add to cart, with one result per submitted item in request order.
+ */
+public class BatchAddToCartResponse {
+
+    private int requested;
+    private int added;
+    private int failed;
+    private List<ItemResult> results = new ArrayList<>();
+
+    public BatchAddToCartResponse() {
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getAdded() {
+        return added;
+    }
+
+    public void setAdded(int added) {
+        this.added = added;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<ItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<ItemResult> results) {
+        this.results = results;
+    }
+
+    /**
+     * Outcome of one item.
+     */
+    public enum Status {
+        ADDED, NOT_FOUND, UNAVAILABLE, INSUFFICIENT_STOCK, INVALID
+    }
+
+    /**
+     * Result of one item: its position in the request, the outcome and, when added, the cart line.
+     */
+    public static class ItemResult {
+
+        private int index;
+        private Long productId;
+        private Status status;
+        private String message;
+        private CartItemResponse item;
+
+        public ItemResult() {
+        }
+
+        public ItemResult(int index, Long productId, Status status, String message, CartItemResponse item) {
+            this.index = index;
+            this.productId = productId;
+            this.status = status;
+            this.message = message;
+            this.item = item;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public Long getProductId() {
+            return productId;
+        }
+
+        public void setProductId(Long productId) {
+            this.productId = productId;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public void setStatus(Status status) {
+            this.status = status;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+
+        public CartItemResponse getItem() {
+            return item;
+        }
+
+        public void setItem(CartItemResponse item) {
+            this.item = item;
+        }
+    }
+}
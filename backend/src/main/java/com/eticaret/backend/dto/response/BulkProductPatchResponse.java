@@ -0,0 +1,131 @@
+package com.eticaret.backend.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the result of a bulk product patch, with one result per submitted patch in request order.
+ */
+public class BulkProductPatchResponse {
+
+    private int requested;
+    private int updated;
+    private int failed;
+    private List<PatchResult> results = new ArrayList<>();
+
+    public BulkProductPatchResponse() {
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<PatchResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<PatchResult> results) {
+        this.results = results;
+    }
+
+    /**
+     * Outcome of one patch.
+     */
+    public enum Status {
+        UPDATED, NOT_FOUND, INVALID
+    }
+
+    /**
+     * Result of one patch: its position in the request, the matched product ids and the outcome.
+     * A SKU patch matches every product with that SKU.
+     */
+    public static class PatchResult {
+
+        private int index;
+        private Long id;
+        private String sku;
+        private List<Long> productIds;
+        private Status status;
+        private String message;
+
+        public PatchResult() {
+        }
+
+        public PatchResult(int index, Long id, String sku, List<Long> productIds, Status status, String message) {
+            this.index = index;
+            this.id = id;
+            this.sku = sku;
+            this.productIds = productIds;
+            this.status = status;
+            this.message = message;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getSku() {
+            return sku;
+        }
+
+        public void setSku(String sku) {
+            this.sku = sku;
+        }
+
+        public List<Long> getProductIds() {
+            return productIds;
+        }
+
+        public void setProductIds(List<Long> productIds) {
+            this.productIds = productIds;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public void setStatus(Status status) {
+            this.status = status;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
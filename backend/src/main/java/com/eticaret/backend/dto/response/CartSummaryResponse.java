@@ -0,0 +1,61 @@
+package com.eticaret.backend.dto.response;
+
+import com.eticaret.backend.util.MoneyUtils;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the cart summary: number of items (sum of quantities) and total, without the lines.
+ */
+public class CartSummaryResponse {
+
+    private Long userId;
+    private Integer itemCount;
+    private Long totalMinor;
+    private BigDecimal total;
+
+    public CartSummaryResponse() {
+    }
+
+    public CartSummaryResponse(Long userId, int itemCount, long totalMinor) {
+        this.userId = userId;
+        this.itemCount = itemCount;
+        this.totalMinor = totalMinor;
+        this.total = MoneyUtils.fromMinorUnits(totalMinor);
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Integer getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(Integer itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    /**
+     * Total in minor currency units (cents)
+     */
+    public Long getTotalMinor() {
+        return totalMinor;
+    }
+
+    public void setTotalMinor(Long totalMinor) {
+        this.totalMinor = totalMinor;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+}
@@ -4,6 +4,8 @@ import java.util.List;
 
 /**
  * Generic pagination response wrapper.
+ * Offset pages fill in page/totalElements/totalPages; cursor (keyset) pages
+ * fill in nextCursor/hasNext and report -1 for the totals they do not count.
  * 
  * @param <T> The type of content being paginated
  */
@@ -14,6 +16,8 @@ public class PaginationResponse<T> {
     private long totalElements;
     private int totalPages;
     private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
 
     public PaginationResponse() {
     }
@@ -26,6 +30,16 @@ public class PaginationResponse<T> {
         this.content = content;
     }
 
+    /**
+     * Create a cursor-based page. Totals are not computed for keyset pages.
+     */
+    public static <T> PaginationResponse<T> ofCursor(int size, List<T> content, String nextCursor) {
+        PaginationResponse<T> response = new PaginationResponse<>(0, size, -1, -1, content);
+        response.setNextCursor(nextCursor);
+        response.setHasNext(nextCursor != null);
+        return response;
+    }
+
     public int getPage() {
         return page;
     }
@@ -65,4 +79,20 @@ public class PaginationResponse<T> {
     public void setContent(List<T> content) {
         this.content = content;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
 }
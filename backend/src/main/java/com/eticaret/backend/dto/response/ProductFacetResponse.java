@@ -0,0 +1,70 @@
+package com.eticaret.backend.dto.response;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for faceted product filtering: the matching products plus facet counts.
+ * Each facet is counted against all other active filters, so the counts show
+ * how many products selecting that value would return.
+ */
+public class ProductFacetResponse {
+
+    private long totalMatches;
+    private List<ProductResponse> products;
+    private Map<Long, Long> categoryCounts;
+    private Map<String, Long> priceBucketCounts;
+    private Map<Boolean, Long> activeCounts;
+    private Map<Boolean, Long> inStockCounts;
+
+    public ProductFacetResponse() {
+    }
+
+    public long getTotalMatches() {
+        return totalMatches;
+    }
+
+    public void setTotalMatches(long totalMatches) {
+        this.totalMatches = totalMatches;
+    }
+
+    public List<ProductResponse> getProducts() {
+        return products;
+    }
+
+    public void setProducts(List<ProductResponse> products) {
+        this.products = products;
+    }
+
+    public Map<Long, Long> getCategoryCounts() {
+        return categoryCounts;
+    }
+
+    public void setCategoryCounts(Map<Long, Long> categoryCounts) {
+        this.categoryCounts = categoryCounts;
+    }
+
+    public Map<String, Long> getPriceBucketCounts() {
+        return priceBucketCounts;
+    }
+
+    public void setPriceBucketCounts(Map<String, Long> priceBucketCounts) {
+        this.priceBucketCounts = priceBucketCounts;
+    }
+
+    public Map<Boolean, Long> getActiveCounts() {
+        return activeCounts;
+    }
+
+    public void setActiveCounts(Map<Boolean, Long> activeCounts) {
+        this.activeCounts = activeCounts;
+    }
+
+    public Map<Boolean, Long> getInStockCounts() {
+        return inStockCounts;
+    }
+
+    public void setInStockCounts(Map<Boolean, Long> inStockCounts) {
+        this.inStockCounts = inStockCounts;
+    }
+}
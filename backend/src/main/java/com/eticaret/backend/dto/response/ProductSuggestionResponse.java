@@ -0,0 +1,44 @@
+package com.eticaret.backend.dto.response;
+
+/**
+ * DTO for a typeahead suggestion.
+ */
+public class ProductSuggestionResponse {
+
+    private Long productId;
+    private String name;
+    private String sku;
+
+    public ProductSuggestionResponse() {
+    }
+
+    public ProductSuggestionResponse(Long productId, String name, String sku) {
+        this.productId = productId;
+        this.name = name;
+        this.sku = sku;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+}
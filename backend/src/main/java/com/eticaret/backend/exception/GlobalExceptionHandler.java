@@ -3,6 +3,8 @@ package com.eticaret.backend.exception;
 import com.eticaret.backend.dto.response.ErrorResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -11,6 +13,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -23,6 +26,9 @@ public class GlobalExceptionHandler {
 
         private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+        // SQL standard state for unique_violation, reported by PostgreSQL and H2 alike
+        private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+
         /**
          * Handle NotFoundException
          */
@@ -98,6 +104,28 @@ public class GlobalExceptionHandler {
                                 .body(errorResponse);
         }
 
+        /**
+         * Handle unique-key violations, e.g. two concurrent requests adding the same cart line.
+         * Other integrity violations (foreign keys, not-null, checks) are bugs, not races, and a
+         * retry would not help, so they are handled like any other unexpected error.
+         */
+        @ExceptionHandler(DataIntegrityViolationException.class)
+        public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(
+                        DataIntegrityViolationException ex, WebRequest request) {
+                if (!isUniqueViolation(ex)) {
+                        return handleGlobalException(ex, request);
+                }
+                log.error("DataIntegrityViolationException: {}", ex.getMostSpecificCause().getMessage());
+
+                ErrorResponse errorResponse = new ErrorResponse(
+                                "Request conflicts with existing data, please retry",
+                                "CONFLICT");
+
+                return ResponseEntity
+                                .status(HttpStatus.CONFLICT)
+                                .body(errorResponse);
+        }
+
         /**
          * Handle all other exceptions
          */
@@ -114,4 +142,17 @@ public class GlobalExceptionHandler {
                                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
                                 .body(errorResponse);
         }
+
+        private static boolean isUniqueViolation(DataIntegrityViolationException ex) {
+                if (ex instanceof DuplicateKeyException) {
+                        return true;
+                }
+                for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+                        if (cause instanceof SQLException sqlException
+                                        && UNIQUE_VIOLATION_SQL_STATE.equals(sqlException.getSQLState())) {
+                                return true;
+                        }
+                }
+                return false;
+        }
 }
@@ -1,9 +1,13 @@
 package com.eticaret.backend.mapper;
 
+import com.eticaret.backend.cart.RedisCartStore;
 import com.eticaret.backend.dto.response.CartItemResponse;
+import com.eticaret.backend.dto.response.ProductResponse;
 import com.eticaret.backend.model.CartItem;
 import org.mapstruct.*;
 
+import java.math.BigDecimal;
+
 /**
  * MapStruct mapper for CartItem entity and DTOs.
  */
@@ -15,4 +19,17 @@ public interface CartItemMapper {
      */
     @Mapping(target = "subtotal", expression = "java(cartItem.getPrice().multiply(java.math.BigDecimal.valueOf(cartItem.getQuantity())))")
     CartItemResponse toResponse(CartItem cartItem);
+
+    /**
+     * Map a Redis cart line; its id is the cart_items id of the line
+     */
+    default CartItemResponse toResponse(RedisCartStore.Line line, ProductResponse product) {
+        CartItemResponse response = new CartItemResponse();
+        response.setId(line.id());
+        response.setProduct(product);
+        response.setQuantity(line.quantity());
+        response.setPrice(line.price());
+        response.setSubtotal(line.price().multiply(BigDecimal.valueOf(line.quantity())));
+        return response;
+    }
 }
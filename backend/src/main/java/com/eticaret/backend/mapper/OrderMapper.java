@@ -1,7 +1,9 @@
 package com.eticaret.backend.mapper;
 
 import com.eticaret.backend.dto.response.OrderResponse;
+import com.eticaret.backend.dto.response.UserResponse;
 import com.eticaret.backend.model.Order;
+import com.eticaret.backend.repository.projection.OrderView;
 import org.mapstruct.*;
 
 /**
@@ -14,4 +16,33 @@ public interface OrderMapper {
      * Map Order entity to OrderResponse DTO
      */
     OrderResponse toResponse(Order order);
+
+    /**
+     * Map an OrderView projection to OrderResponse DTO
+     */
+    default OrderResponse toResponse(OrderView view) {
+        if (view == null) {
+            return null;
+        }
+
+        UserResponse user = new UserResponse();
+        user.setId(view.userId());
+        user.setFirstName(view.userFirstName());
+        user.setLastName(view.userLastName());
+        user.setEmail(view.userEmail());
+        user.setPhone(view.userPhone());
+        user.setActive(view.userActive());
+        user.setCreatedAt(view.userCreatedAt());
+        user.setUpdatedAt(view.userUpdatedAt());
+
+        OrderResponse response = new OrderResponse();
+        response.setId(view.id());
+        response.setUser(user);
+        response.setTotalAmount(view.totalAmount());
+        response.setStatus(view.status());
+        response.setShippingAddress(view.shippingAddress());
+        response.setCreatedAt(view.createdAt());
+        response.setUpdatedAt(view.updatedAt());
+        return response;
+    }
 }
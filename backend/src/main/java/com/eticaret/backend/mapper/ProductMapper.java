@@ -2,8 +2,10 @@ package com.eticaret.backend.mapper;
 
 import com.eticaret.backend.dto.request.CreateProductRequest;
 import com.eticaret.backend.dto.request.UpdateProductRequest;
+import com.eticaret.backend.dto.response.CategoryResponse;
 import com.eticaret.backend.dto.response.ProductResponse;
 import com.eticaret.backend.model.Product;
+import com.eticaret.backend.repository.projection.ProductView;
 import org.mapstruct.*;
 
 /**
@@ -17,6 +19,38 @@ public interface ProductMapper {
      */
     ProductResponse toResponse(Product product);
 
+    /**
+     * Map a ProductView projection to ProductResponse DTO
+     */
+    default ProductResponse toResponse(ProductView view) {
+        if (view == null) {
+            return null;
+        }
+
+        ProductResponse response = new ProductResponse();
+        response.setId(view.id());
+        response.setName(view.name());
+        response.setDescription(view.description());
+        response.setPrice(view.price());
+        response.setStockQuantity(view.stockQuantity());
+        response.setSku(view.sku());
+        response.setActive(view.active());
+        response.setCreatedAt(view.createdAt());
+        response.setUpdatedAt(view.updatedAt());
+
+        if (view.categoryId() != null) {
+            CategoryResponse category = new CategoryResponse();
+            category.setId(view.categoryId());
+            category.setName(view.categoryName());
+            category.setDescription(view.categoryDescription());
+            category.setActive(view.categoryActive());
+            category.setCreatedAt(view.categoryCreatedAt());
+            category.setUpdatedAt(view.categoryUpdatedAt());
+            response.setCategory(category);
+        }
+        return response;
+    }
+
     /**
      * Map CreateProductRequest to Product entity
      */
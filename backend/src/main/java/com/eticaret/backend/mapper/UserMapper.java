@@ -3,6 +3,7 @@ package com.eticaret.backend.mapper;
 import com.eticaret.backend.dto.request.RegisterRequest;
 import com.eticaret.backend.dto.response.UserResponse;
 import com.eticaret.backend.model.User;
+import com.eticaret.backend.repository.projection.UserView;
 import org.mapstruct.*;
 
 /**
@@ -17,6 +18,26 @@ public interface UserMapper {
      */
     UserResponse toResponse(User user);
 
+    /**
+     * Map a UserView projection to UserResponse DTO
+     */
+    default UserResponse toResponse(UserView view) {
+        if (view == null) {
+            return null;
+        }
+
+        UserResponse response = new UserResponse();
+        response.setId(view.id());
+        response.setFirstName(view.firstName());
+        response.setLastName(view.lastName());
+        response.setEmail(view.email());
+        response.setPhone(view.phone());
+        response.setActive(view.active());
+        response.setCreatedAt(view.createdAt());
+        response.setUpdatedAt(view.updatedAt());
+        return response;
+    }
+
     /**
      * Map RegisterRequest to User entity
      */
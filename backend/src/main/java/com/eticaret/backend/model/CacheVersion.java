@@ -0,0 +1,36 @@
+package com.eticaret.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Version of an in-memory snapshot, bumped in the transaction of every write it covers.
+ * Written through CacheVersionRepository's SQL only; the entity exists for schema validation.
+ */
+@Entity
+@Table(name = "cache_versions")
+public class CacheVersion {
+
+    /** Category data: everything CategorySnapshotCache holds */
+    public static final String CATEGORIES = "categories";
+
+    /** Product rows, bumped by every insert, update and delete of a product */
+    public static final String PRODUCTS = "products";
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(nullable = false)
+    private Long version;
+
+    public String getName() {
+        return name;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
@@ -10,7 +10,9 @@ import java.math.BigDecimal;
  * CartItem entity representing items in a shopping cart.
  */
 @Entity
-@Table(name = "cart_items")
+@Table(name = "cart_items", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_cart_items_user_product", columnNames = { "user_id", "product_id" })
+})
 public class CartItem extends BaseEntity {
 
     @ManyToOne(fetch = FetchType.LAZY)
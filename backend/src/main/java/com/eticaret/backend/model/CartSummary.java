@@ -0,0 +1,58 @@
+package com.eticaret.backend.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Item count and total of a user's cart, adjusted with atomic SQL updates on every cart change
+ * (see CartSummaryRepository); it exists for reads and schema validation.
+ */
+@Entity
+@Table(name = "cart_summaries")
+public class CartSummary {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", foreignKey = @ForeignKey(name = "fk_cart_summaries_user"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @Column(name = "item_count", nullable = false)
+    private Integer itemCount = 0;
+
+    /**
+     * Sum of price * quantity in minor units (cents)
+     */
+    @Column(name = "total_minor", nullable = false)
+    private Long totalMinor = 0L;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public Integer getItemCount() {
+        return itemCount;
+    }
+
+    public Long getTotalMinor() {
+        return totalMinor;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
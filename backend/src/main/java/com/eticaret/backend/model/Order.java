@@ -9,7 +9,10 @@ import java.math.BigDecimal;
  * Order entity representing customer orders.
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_id", columnList = "user_id"),
+        @Index(name = "idx_orders_status", columnList = "status")
+})
 public class Order extends BaseEntity {
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -2,6 +2,8 @@ package com.eticaret.backend.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
@@ -9,7 +11,13 @@ import java.math.BigDecimal;
  * Product entity representing products in the e-commerce system.
  */
 @Entity
-@Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "entity.product")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_products_category_created_at_id", columnList = "category_id, created_at, id"),
+        @Index(name = "idx_products_sku", columnList = "sku")
+})
 public class Product extends BaseEntity {
 
     @NotBlank(message = "Product name cannot be blank")
@@ -0,0 +1,33 @@
+package com.eticaret.backend.repository;
+
+import com.eticaret.backend.model.CacheVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for CacheVersion.
+ */
+@Repository
+public interface CacheVersionRepository extends JpaRepository<CacheVersion, String> {
+
+    /**
+     * Increment the version in the current transaction; the row lock also orders concurrent writers
+     */
+    @Modifying
+    @Query(value = """
+            MERGE INTO cache_versions v
+            USING (SELECT CAST(:name AS VARCHAR(50)) AS name) src
+            ON v.name = src.name
+            WHEN MATCHED THEN UPDATE SET version = v.version + 1
+            WHEN NOT MATCHED THEN INSERT (name, version) VALUES (src.name, 1)
+            """, nativeQuery = true)
+    int bump(@Param("name") String name);
+
+    @Query("SELECT v.version FROM CacheVersion v WHERE v.name = :name")
+    Optional<Long> findVersion(@Param("name") String name);
+}
@@ -2,8 +2,11 @@ package com.eticaret.backend.repository;
 
 import com.eticaret.backend.model.CartItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,7 +18,18 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
 
     List<CartItem> findByUserId(Long userId);
 
+    /**
+     * Cart lines for the cart view, with product and category fetched in the same query
+     */
+    @Query("SELECT ci FROM CartItem ci JOIN FETCH ci.product p LEFT JOIN FETCH p.category "
+            + "WHERE ci.user.id = :userId ORDER BY ci.id")
+    List<CartItem> findCartView(@Param("userId") Long userId);
+
+    List<CartItem> findByUserIdIn(Collection<Long> userIds);
+
     void deleteByUserId(Long userId);
 
     Optional<CartItem> findByUserIdAndProductId(Long userId, Long productId);
+
+    List<CartItem> findByUserIdAndProductIdIn(Long userId, Collection<Long> productIds);
 }
@@ -0,0 +1,60 @@
+package com.eticaret.backend.repository;
+
+import com.eticaret.backend.model.CartSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for CartSummary. Summaries are only written through the SQL statements below, so
+ * concurrent cart changes of the same user serialize on the summary row instead of losing updates.
+ */
+@Repository
+public interface CartSummaryRepository extends JpaRepository<CartSummary, Long> {
+
+    /**
+     * Add to the user's summary; returns 0 when the user has no summary row yet
+     */
+    @Modifying
+    @Query(value = "UPDATE cart_summaries SET item_count = item_count + :items, "
+            + "total_minor = total_minor + :totalMinor, updated_at = LOCALTIMESTAMP "
+            + "WHERE user_id = :userId", nativeQuery = true)
+    int adjust(@Param("userId") Long userId, @Param("items") int items, @Param("totalMinor") long totalMinor);
+
+    /**
+     * Rebuild the summaries of the given users from cart_items, creating missing rows. Pending
+     * cart_items changes are flushed first.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            MERGE INTO cart_summaries s
+            USING (SELECT u.id AS user_id,
+                          COALESCE(SUM(ci.quantity), 0) AS item_count,
+                          COALESCE(SUM(CAST(ROUND(ci.price * 100) AS BIGINT) * ci.quantity), 0) AS total_minor
+                   FROM users u
+                   LEFT JOIN cart_items ci ON ci.user_id = u.id
+                   WHERE u.id IN (:userIds)
+                   GROUP BY u.id) src
+            ON s.user_id = src.user_id
+            WHEN MATCHED THEN UPDATE SET item_count = src.item_count, total_minor = src.total_minor,
+                updated_at = LOCALTIMESTAMP
+            WHEN NOT MATCHED THEN INSERT (user_id, item_count, total_minor, updated_at)
+                VALUES (src.user_id, src.item_count, src.total_minor, LOCALTIMESTAMP)
+            """, nativeQuery = true)
+    int recompute(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Apply a cart change to the user's summary. Call after the cart_items change: a user without a
+     * summary row gets one rebuilt from cart_items, which already includes the change.
+     */
+    default void applyChange(Long userId, int items, long totalMinor) {
+        if (adjust(userId, items, totalMinor) == 0) {
+            recompute(List.of(userId));
+        }
+    }
+}
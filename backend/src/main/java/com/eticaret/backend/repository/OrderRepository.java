@@ -1,7 +1,10 @@
 package com.eticaret.backend.repository;
 
 import com.eticaret.backend.model.Order;
+import com.eticaret.backend.repository.projection.OrderView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +18,12 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUserId(Long userId);
 
     List<Order> findByStatus(Order.OrderStatus status);
+
+    /**
+     * Orders of a user as read-only views, with the user columns joined in one statement
+     */
+    @Query("SELECT new com.eticaret.backend.repository.projection.OrderView(o.id, o.totalAmount, o.status, "
+            + "o.shippingAddress, o.createdAt, o.updatedAt, u.id, u.firstName, u.lastName, u.email, u.phone, "
+            + "u.active, u.createdAt, u.updatedAt) FROM Order o JOIN o.user u WHERE u.id = :userId")
+    List<OrderView> findViewsByUserId(@Param("userId") Long userId);
 }
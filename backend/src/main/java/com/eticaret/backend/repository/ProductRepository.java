@@ -1,20 +1,151 @@
 package com.eticaret.backend.repository;
 
 import com.eticaret.backend.model.Product;
+import com.eticaret.backend.repository.projection.ProductPopularityView;
+import com.eticaret.backend.repository.projection.ProductSuggestionView;
+import com.eticaret.backend.repository.projection.ProductView;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Product entity.
+ * Read-only list queries return ProductView projections with the category columns joined in;
+ * entity queries remain for writes, single-product reads and the index bootstrap.
  */
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
-    List<Product> findByActiveTrue();
+    /**
+     * Constructor expression shared by the list queries: product and category columns only,
+     * no managed entities and no persistence-context snapshots
+     */
+    String PRODUCT_VIEW = "SELECT new com.eticaret.backend.repository.projection.ProductView(p.id, p.name, "
+            + "p.description, p.price, p.stockQuantity, p.sku, p.active, p.createdAt, p.updatedAt, "
+            + "c.id, c.name, c.description, c.active, c.createdAt, c.updatedAt) "
+            + "FROM Product p LEFT JOIN p.category c ";
 
-    List<Product> findByCategoryId(Long categoryId);
+    /**
+     * Find product by id together with its category
+     */
+    @EntityGraph(attributePaths = "category")
+    Optional<Product> findWithCategoryById(Long id);
+
+    /**
+     * Products by id with their category, in one query
+     */
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Product> findAllById(Iterable<Long> ids);
 
     boolean existsBySku(String sku);
+
+    /**
+     * Those of the given product ids that still exist
+     */
+    @Query("SELECT p.id FROM Product p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lock products for a stock update. Always reads the current rows, never the second-level cache;
+     * ordered by id so concurrent orders lock rows in the same order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query(PRODUCT_VIEW + "WHERE p.id IN :ids")
+    List<ProductView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keyset pagination: first page ordered by newest first.
+     * The Pageable only carries the page size; offsets are never used.
+     */
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category "
+            + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Product> findFirstPage(Pageable pageable);
+
+    /**
+     * Keyset pagination: rows strictly after the given (createdAt, id) position
+     */
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category "
+            + "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) "
+            + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Product> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+            Pageable pageable);
+
+    /**
+     * Keyset pagination over views, same ordering as the entity queries above.
+     * First pages are what the catalog endpoints serve most, so they are kept in the query cache;
+     * each entry holds at most one page. Later pages are keyed by their cursor and rarely repeat.
+     * Callers read first pages from the primary (PrimaryReads), so a lagging replica cannot fill the
+     * cache with a page older than the last invalidation.
+     */
+    @Query(PRODUCT_VIEW + "ORDER BY p.createdAt DESC, p.id DESC")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.catalog")
+    })
+    List<ProductView> findViewFirstPage(Pageable pageable);
+
+    @Query(PRODUCT_VIEW + "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) "
+            + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductView> findViewPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+            Pageable pageable);
+
+    @Query(PRODUCT_VIEW + "WHERE p.active = true ORDER BY p.createdAt DESC, p.id DESC")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.catalog")
+    })
+    List<ProductView> findActiveViewFirstPage(Pageable pageable);
+
+    @Query(PRODUCT_VIEW + "WHERE p.active = true "
+            + "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) "
+            + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductView> findActiveViewPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+            Pageable pageable);
+
+    @Query(PRODUCT_VIEW + "WHERE c.id = :categoryId ORDER BY p.createdAt DESC, p.id DESC")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.catalog")
+    })
+    List<ProductView> findViewByCategoryFirstPage(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query(PRODUCT_VIEW + "WHERE c.id = :categoryId "
+            + "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) "
+            + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductView> findViewByCategoryPageAfter(@Param("categoryId") Long categoryId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Name and SKU of active products, for the typeahead snapshot
+     */
+    @Query("SELECT new com.eticaret.backend.repository.projection.ProductSuggestionView(p.id, p.name, p.sku) "
+            + "FROM Product p WHERE p.active = true")
+    List<ProductSuggestionView> findSuggestionViews();
+
+    /**
+     * Popularity per product: ordered quantity weighted by ten, plus page views
+     */
+    @Query("SELECT new com.eticaret.backend.repository.projection.ProductPopularityView(t.productId, SUM(t.score)) "
+            + "FROM (SELECT oi.product.id AS productId, SUM(oi.quantity) * 10 AS score FROM OrderItem oi "
+            + "GROUP BY oi.product.id "
+            + "UNION ALL SELECT s.productId AS productId, s.viewCount AS score FROM ProductStats s) t "
+            + "GROUP BY t.productId")
+    List<ProductPopularityView> findPopularity();
 }
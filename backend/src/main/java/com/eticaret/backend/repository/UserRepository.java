@@ -1,9 +1,14 @@
 package com.eticaret.backend.repository;
 
 import com.eticaret.backend.model.User;
+import com.eticaret.backend.repository.projection.UserView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -15,4 +20,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    /**
+     * All users as read-only views, without the password column
+     */
+    @Query("SELECT new com.eticaret.backend.repository.projection.UserView(u.id, u.firstName, u.lastName, "
+            + "u.email, u.phone, u.active, u.createdAt, u.updatedAt) FROM User u")
+    List<UserView> findAllViews();
+
+    /**
+     * Those of the given user ids that still exist
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
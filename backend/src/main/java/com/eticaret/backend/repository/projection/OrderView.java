@@ -0,0 +1,15 @@
+package com.eticaret.backend.repository.projection;
+
+import com.eticaret.backend.model.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of an order row joined with its user, for list responses.
+ */
+public record OrderView(Long id, BigDecimal totalAmount, Order.OrderStatus status, String shippingAddress,
+        LocalDateTime createdAt, LocalDateTime updatedAt,
+        Long userId, String userFirstName, String userLastName, String userEmail, String userPhone,
+        Boolean userActive, LocalDateTime userCreatedAt, LocalDateTime userUpdatedAt) {
+}
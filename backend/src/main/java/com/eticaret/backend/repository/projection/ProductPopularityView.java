@@ -0,0 +1,7 @@
+package com.eticaret.backend.repository.projection;
+
+/**
+ * Read-only projection of a product's popularity score.
+ */
+public record ProductPopularityView(Long productId, Long score) {
+}
@@ -0,0 +1,7 @@
+package com.eticaret.backend.repository.projection;
+
+/**
+ * Read-only projection of the product columns used to build typeahead suggestions.
+ */
+public record ProductSuggestionView(Long id, String name, String sku) {
+}
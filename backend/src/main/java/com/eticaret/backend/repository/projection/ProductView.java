@@ -0,0 +1,14 @@
+package com.eticaret.backend.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a product row joined with its category, for list responses.
+ * Category columns are null when the product has no category.
+ */
+public record ProductView(Long id, String name, String description, BigDecimal price, Integer stockQuantity,
+        String sku, Boolean active, LocalDateTime createdAt, LocalDateTime updatedAt,
+        Long categoryId, String categoryName, String categoryDescription, Boolean categoryActive,
+        LocalDateTime categoryCreatedAt, LocalDateTime categoryUpdatedAt) {
+}
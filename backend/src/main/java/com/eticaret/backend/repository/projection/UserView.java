@@ -0,0 +1,10 @@
+package com.eticaret.backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of the user columns exposed in responses; the password is never selected.
+ */
+public record UserView(Long id, String firstName, String lastName, String email, String phone, Boolean active,
+        LocalDateTime createdAt, LocalDateTime updatedAt) {
+}
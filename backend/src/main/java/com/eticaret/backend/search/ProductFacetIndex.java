@@ -0,0 +1,242 @@
+package com.eticaret.backend.search;
+
+import com.eticaret.backend.exception.ValidationException;
+import com.eticaret.backend.model.Product;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap index for faceted catalog filtering.
+ * Keeps one Roaring bitmap per category, per price bucket, per active value and one
+ * for products in stock. A filter is an intersection of bitmaps and every facet count
+ * is an intersection cardinality, so queries never touch the database.
+ */
+@Component
+public class ProductFacetIndex implements ProductIndex {
+
+    private final BigDecimal[] priceBounds;
+    private final String[] priceLabels;
+
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final RoaringBitmap activeProducts = new RoaringBitmap();
+    private final RoaringBitmap inactiveProducts = new RoaringBitmap();
+    private final RoaringBitmap inStockProducts = new RoaringBitmap();
+    private final RoaringBitmap[] byPriceBucket;
+    private final Map<Long, RoaringBitmap> byCategory = new HashMap<>();
+
+    /** product id -> facet values it was indexed under, used to clear old bits on update */
+    private final Map<Integer, Facets> facetsById = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ProductFacetIndex(@Value("${search.facets.price-bounds:0,100,250,500,1000,2500,5000}")
+            List<BigDecimal> priceBounds) {
+        this.priceBounds = priceBounds.toArray(BigDecimal[]::new);
+        this.priceLabels = new String[this.priceBounds.length];
+        this.byPriceBucket = new RoaringBitmap[this.priceBounds.length];
+        for (int i = 0; i < this.priceBounds.length; i++) {
+            priceLabels[i] = i + 1 < this.priceBounds.length
+                    ? this.priceBounds[i].toPlainString() + "-" + this.priceBounds[i + 1].toPlainString()
+                    : this.priceBounds[i].toPlainString() + "+";
+            byPriceBucket[i] = new RoaringBitmap();
+        }
+    }
+
+    @Override
+    public void index(Product product) {
+        int id = Math.toIntExact(product.getId());
+        Long categoryId = product.getCategory() != null ? product.getCategory().getId() : null;
+        Facets facets = new Facets(categoryId, priceBucket(product.getPrice()),
+                Boolean.TRUE.equals(product.getActive()),
+                product.getStockQuantity() != null && product.getStockQuantity() > 0);
+
+        lock.writeLock().lock();
+        try {
+            Facets previous = facetsById.put(id, facets);
+            if (previous != null) {
+                clear(id, previous);
+            }
+            set(id, facets);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long productId) {
+        int id = Math.toIntExact(productId);
+        lock.writeLock().lock();
+        try {
+            Facets previous = facetsById.remove(id);
+            if (previous != null) {
+                clear(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Filter the catalog. Values within one facet are OR-ed, facets are AND-ed;
+     * null or empty arguments leave that facet unfiltered.
+     */
+    public FacetResult query(Collection<Long> categoryIds, Collection<String> priceBuckets,
+            Boolean active, Boolean inStock, int limit) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap categoryFilter = categoryFilter(categoryIds);
+            RoaringBitmap priceFilter = priceFilter(priceBuckets);
+            RoaringBitmap activeFilter = active == null ? all : (active ? activeProducts : inactiveProducts);
+            RoaringBitmap stockFilter = inStock == null ? all
+                    : (inStock ? inStockProducts : RoaringBitmap.andNot(all, inStockProducts));
+
+            RoaringBitmap matches = and(categoryFilter, priceFilter, activeFilter, stockFilter);
+
+            // Each facet is counted with its own filter left out (disjunctive faceting)
+            RoaringBitmap withoutCategory = and(priceFilter, activeFilter, stockFilter);
+            Map<Long, Long> categoryCounts = new HashMap<>();
+            byCategory.forEach((categoryId, bitmap) -> {
+                long count = RoaringBitmap.andCardinality(withoutCategory, bitmap);
+                if (count > 0) {
+                    categoryCounts.put(categoryId, count);
+                }
+            });
+
+            RoaringBitmap withoutPrice = and(categoryFilter, activeFilter, stockFilter);
+            Map<String, Long> priceCounts = new LinkedHashMap<>();
+            for (int i = 0; i < byPriceBucket.length; i++) {
+                priceCounts.put(priceLabels[i], (long) RoaringBitmap.andCardinality(withoutPrice, byPriceBucket[i]));
+            }
+
+            RoaringBitmap withoutActive = and(categoryFilter, priceFilter, stockFilter);
+            long activeCount = RoaringBitmap.andCardinality(withoutActive, activeProducts);
+            Map<Boolean, Long> activeCounts = Map.of(true, activeCount,
+                    false, withoutActive.getLongCardinality() - activeCount);
+
+            RoaringBitmap withoutStock = and(categoryFilter, priceFilter, activeFilter);
+            long inStockCount = RoaringBitmap.andCardinality(withoutStock, inStockProducts);
+            Map<Boolean, Long> inStockCounts = Map.of(true, inStockCount,
+                    false, withoutStock.getLongCardinality() - inStockCount);
+
+            // Highest ids first, i.e. newest products
+            List<Long> productIds = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+            IntIterator iterator = matches.getReverseIntIterator();
+            while (iterator.hasNext() && productIds.size() < limit) {
+                productIds.add((long) iterator.next());
+            }
+
+            return new FacetResult(matches.getLongCardinality(), productIds, categoryCounts, priceCounts,
+                    activeCounts, inStockCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap categoryFilter(Collection<Long> categoryIds) {
+        if (categoryIds == null || categoryIds.isEmpty()) {
+            return all;
+        }
+        RoaringBitmap union = new RoaringBitmap();
+        for (Long categoryId : categoryIds) {
+            RoaringBitmap bitmap = byCategory.get(categoryId);
+            if (bitmap != null) {
+                union.or(bitmap);
+            }
+        }
+        return union;
+    }
+
+    private RoaringBitmap priceFilter(Collection<String> priceBuckets) {
+        if (priceBuckets == null || priceBuckets.isEmpty()) {
+            return all;
+        }
+        RoaringBitmap union = new RoaringBitmap();
+        for (String label : priceBuckets) {
+            union.or(byPriceBucket[bucketIndex(label)]);
+        }
+        return union;
+    }
+
+    private int bucketIndex(String label) {
+        for (int i = 0; i < priceLabels.length; i++) {
+            if (priceLabels[i].equals(label)) {
+                return i;
+            }
+        }
+        throw new ValidationException("Unknown price bucket '" + label + "'. Valid buckets: "
+                + String.join(", ", priceLabels));
+    }
+
+    private int priceBucket(BigDecimal price) {
+        int bucket = 0;
+        for (int i = 0; i < priceBounds.length; i++) {
+            if (price != null && price.compareTo(priceBounds[i]) >= 0) {
+                bucket = i;
+            }
+        }
+        return bucket;
+    }
+
+    private void set(int id, Facets facets) {
+        all.add(id);
+        (facets.active() ? activeProducts : inactiveProducts).add(id);
+        if (facets.inStock()) {
+            inStockProducts.add(id);
+        }
+        byPriceBucket[facets.priceBucket()].add(id);
+        if (facets.categoryId() != null) {
+            byCategory.computeIfAbsent(facets.categoryId(), key -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    private void clear(int id, Facets facets) {
+        all.remove(id);
+        activeProducts.remove(id);
+        inactiveProducts.remove(id);
+        inStockProducts.remove(id);
+        byPriceBucket[facets.priceBucket()].remove(id);
+        if (facets.categoryId() != null) {
+            RoaringBitmap bitmap = byCategory.get(facets.categoryId());
+            if (bitmap != null) {
+                bitmap.remove(id);
+                if (bitmap.isEmpty()) {
+                    byCategory.remove(facets.categoryId());
+                }
+            }
+        }
+    }
+
+    private static RoaringBitmap and(RoaringBitmap first, RoaringBitmap... others) {
+        RoaringBitmap result = first.clone();
+        for (RoaringBitmap other : others) {
+            result.and(other);
+        }
+        return result;
+    }
+
+    /**
+     * Facet values a product is currently indexed under.
+     */
+    private record Facets(Long categoryId, int priceBucket, boolean active, boolean inStock) {
+    }
+
+    /**
+     * Result of a facet query: total matches, the first page of ids and per-facet counts.
+     */
+    public record FacetResult(long totalMatches, List<Long> productIds, Map<Long, Long> categoryCounts,
+            Map<String, Long> priceBucketCounts, Map<Boolean, Long> activeCounts,
+            Map<Boolean, Long> inStockCounts) {
+    }
+}
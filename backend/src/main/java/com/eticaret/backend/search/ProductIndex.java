@@ -0,0 +1,23 @@
+package com.eticaret.backend.search;
+
+import com.eticaret.backend.model.Product;
+
+/**
+ * In-memory index over the product catalog.
+ * Built once at startup by ProductIndexBootstrap and then kept current
+ * incrementally by product writes, after their transaction commits, and by
+ * ProductIndexRefresher for changes made elsewhere (checkout, other nodes).
+ * Implementations must be safe for concurrent calls.
+ */
+public interface ProductIndex {
+
+    /**
+     * Add or replace a product in the index
+     */
+    void index(Product product);
+
+    /**
+     * Remove a product from the index
+     */
+    void remove(Long productId);
+}
@@ -0,0 +1,58 @@
+package com.eticaret.backend.search;
+
+import com.eticaret.backend.model.Product;
+import com.eticaret.backend.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Builds every ProductIndex once at startup.
+ * Products are read in keyset pages and each page is indexed in parallel;
+ * afterwards the indexes are only updated incrementally by product writes.
+ */
+@Component
+public class ProductIndexBootstrap {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductIndexBootstrap.class);
+
+    private final ProductRepository productRepository;
+    private final List<ProductIndex> indexes;
+    private final int pageSize;
+
+    public ProductIndexBootstrap(ProductRepository productRepository,
+            List<ProductIndex> indexes,
+            @Value("${search.bootstrap.page-size:1000}") int pageSize) {
+        this.productRepository = productRepository;
+        this.indexes = indexes;
+        this.pageSize = pageSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndexes() {
+        long start = System.currentTimeMillis();
+        long indexed = 0;
+
+        try {
+            PageRequest page = PageRequest.of(0, pageSize);
+            List<Product> products = productRepository.findFirstPage(page);
+            while (!products.isEmpty()) {
+                products.parallelStream().forEach(product -> indexes.forEach(index -> index.index(product)));
+                indexed += products.size();
+
+                Product last = products.get(products.size() - 1);
+                products = productRepository.findPageAfter(last.getCreatedAt(), last.getId(), page);
+            }
+            log.info("Built {} product indexes over {} products in {} ms",
+                    indexes.size(), indexed, System.currentTimeMillis() - start);
+        } catch (RuntimeException ex) {
+            log.error("Failed to build product indexes after {} products", indexed, ex);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.eticaret.backend.search;
+
+import com.eticaret.backend.cache.ProductCache;
+import com.eticaret.backend.model.Product;
+import com.eticaret.backend.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps every node's ProductIndexes current with writes made anywhere: each product evicted from
+ * ProductCache, by a local write or another node's broadcast, is re-read from the primary and
+ * re-indexed (or removed when it no longer exists). This covers changes that do not index directly,
+ * such as checkout taking stock. Ids are collected and reloaded in one query per refresh.
+ */
+@Component
+public class ProductIndexRefresher {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductIndexRefresher.class);
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final ProductRepository productRepository;
+    private final List<ProductIndex> indexes;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductIndexRefresher(ProductCache productCache,
+            ProductRepository productRepository,
+            List<ProductIndex> indexes,
+            PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.indexes = indexes;
+        // Read-write so the reload is routed to the primary, never a lagging replica
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        productCache.addLocalInvalidationListener(pending::add);
+    }
+
+    @Scheduled(fixedDelayString = "${search.refresh-interval-ms:1000}")
+    public void refresh() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(pending);
+        ids.forEach(pending::remove);
+
+        try {
+            List<Product> products = transactionTemplate.execute(status -> productRepository.findAllById(ids));
+            Set<Long> missing = new HashSet<>(ids);
+            for (Product product : products) {
+                missing.remove(product.getId());
+                indexes.forEach(index -> index.index(product));
+            }
+            missing.forEach(id -> indexes.forEach(index -> index.remove(id)));
+            log.debug("Re-indexed {} products, removed {}", products.size(), missing.size());
+        } catch (RuntimeException ex) {
+            pending.addAll(ids);
+            log.warn("Failed to refresh product indexes for {} products, will retry", ids.size(), ex);
+        }
+    }
+}
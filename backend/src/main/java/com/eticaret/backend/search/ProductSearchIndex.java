@@ -0,0 +1,186 @@
+package com.eticaret.backend.search;
+
+import com.eticaret.backend.model.Product;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * In-memory inverted index over active products' name, SKU and description, ranked with BM25.
+ * Fields are weighted (BM25F style) into a single term frequency per document.
+ * Query terms match exactly and as prefixes of indexed terms; prefix matches score lower.
+ * All structures are concurrent, so the startup build can index in parallel and
+ * writes update single documents without blocking searches.
+ */
+@Component
+public class ProductSearchIndex implements ProductIndex {
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float SKU_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    /** term -> (product id -> weighted term frequency) */
+    private final ConcurrentSkipListMap<String, ConcurrentHashMap<Long, Float>> postings = new ConcurrentSkipListMap<>();
+
+    /** product id -> indexed document, used to remove stale postings on update */
+    private final ConcurrentHashMap<Long, Document> documents = new ConcurrentHashMap<>();
+
+    private final DoubleAdder totalLength = new DoubleAdder();
+
+    @Override
+    public void index(Product product) {
+        if (!Boolean.TRUE.equals(product.getActive())) {
+            // Same ordering as updates: a late event must not remove a newer, active document
+            documents.computeIfPresent(product.getId(), (id, previous) -> {
+                if (isOlder(product.getUpdatedAt(), previous.updatedAt())) {
+                    return previous;
+                }
+                unlink(id, previous);
+                return null;
+            });
+            return;
+        }
+
+        Document document = analyze(product);
+        // compute() serializes concurrent updates of the same product
+        documents.compute(product.getId(), (id, previous) -> {
+            if (previous != null && isOlder(document.updatedAt(), previous.updatedAt())) {
+                return previous;
+            }
+            if (previous != null) {
+                unlink(id, previous);
+            }
+            link(id, document);
+            return document;
+        });
+    }
+
+    @Override
+    public void remove(Long productId) {
+        documents.computeIfPresent(productId, (id, previous) -> {
+            unlink(id, previous);
+            return null;
+        });
+    }
+
+    /**
+     * Search the index and return product ids ordered by descending score
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> queryTerms = TextNormalizer.tokenize(query);
+        int documentCount = documents.size();
+        if (queryTerms.isEmpty() || documentCount == 0) {
+            return Collections.emptyList();
+        }
+
+        double averageLength = Math.max(totalLength.sum() / documentCount, 1.0);
+        Map<Long, Double> scores = new HashMap<>();
+
+        for (String queryTerm : queryTerms) {
+            NavigableMap<String, ConcurrentHashMap<Long, Float>> matches =
+                    postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false);
+            int expansions = 0;
+            for (Map.Entry<String, ConcurrentHashMap<Long, Float>> match : matches.entrySet()) {
+                if (expansions++ >= MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                double factor = match.getKey().equals(queryTerm) ? 1.0 : PREFIX_MATCH_FACTOR;
+                accumulate(match.getValue(), documentCount, averageLength, factor, scores);
+            }
+        }
+
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+        return ranked.stream()
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Number of indexed products
+     */
+    public int size() {
+        return documents.size();
+    }
+
+    private void accumulate(Map<Long, Float> termPostings, int documentCount, double averageLength,
+            double factor, Map<Long, Double> scores) {
+        int documentFrequency = termPostings.size();
+        double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+
+        termPostings.forEach((productId, frequency) -> {
+            Document document = documents.get(productId);
+            if (document == null) {
+                return;
+            }
+            double norm = K1 * (1 - B + B * document.length() / averageLength);
+            double score = factor * idf * frequency * (K1 + 1) / (frequency + norm);
+            scores.merge(productId, score, Double::sum);
+        });
+    }
+
+    private void link(Long productId, Document document) {
+        document.terms().forEach((term, frequency) -> postings.compute(term, (key, termPostings) -> {
+            ConcurrentHashMap<Long, Float> target = termPostings != null ? termPostings : new ConcurrentHashMap<>();
+            target.put(productId, frequency);
+            return target;
+        }));
+        totalLength.add(document.length());
+    }
+
+    private void unlink(Long productId, Document document) {
+        document.terms().keySet().forEach(term -> postings.computeIfPresent(term, (key, termPostings) -> {
+            termPostings.remove(productId);
+            return termPostings.isEmpty() ? null : termPostings;
+        }));
+        totalLength.add(-document.length());
+    }
+
+    private static Document analyze(Product product) {
+        Map<String, Float> terms = new HashMap<>();
+        float length = addField(terms, TextNormalizer.tokenize(product.getName()), NAME_WEIGHT);
+        length += addField(terms, TextNormalizer.tokenize(product.getDescription()), DESCRIPTION_WEIGHT);
+
+        List<String> skuTokens = new ArrayList<>(TextNormalizer.tokenize(product.getSku()));
+        if (skuTokens.size() > 1) {
+            // "ABC-123" is also searchable as "abc123"
+            skuTokens.add(String.join("", skuTokens));
+        }
+        length += addField(terms, skuTokens, SKU_WEIGHT);
+
+        return new Document(terms, length, product.getUpdatedAt());
+    }
+
+    private static float addField(Map<String, Float> terms, List<String> tokens, float weight) {
+        for (String token : tokens) {
+            terms.merge(token, weight, Float::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    private static boolean isOlder(LocalDateTime candidate, LocalDateTime current) {
+        return candidate != null && current != null && candidate.isBefore(current);
+    }
+
+    /**
+     * Analyzed form of one product: weighted term frequencies and weighted length.
+     */
+    private record Document(Map<String, Float> terms, float length, LocalDateTime updatedAt) {
+    }
+}
@@ -0,0 +1,212 @@
+package com.eticaret.backend.search;
+
+import com.eticaret.backend.dto.response.ProductSuggestionResponse;
+import com.eticaret.backend.model.Product;
+import com.eticaret.backend.repository.ProductRepository;
+import com.eticaret.backend.repository.projection.ProductPopularityView;
+import com.eticaret.backend.repository.projection.ProductSuggestionView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Typeahead suggestions over active product names and SKUs, weighted by popularity.
+ * Suggestions live in an immutable snapshot of sorted keys searched with binary search.
+ * Every word start of a name is a key, so "can" finds "Deri Çanta". The snapshot is
+ * rebuilt on the scheduler thread when products have changed, and at least every
+ * max-staleness so popularity from orders and views is picked up, then swapped in with a
+ * single volatile write, so readers never block.
+ */
+@Component
+public class ProductSuggester implements ProductIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSuggester.class);
+
+    private static final int MAX_WORD_KEYS_PER_NAME = 6;
+
+    private final ProductRepository productRepository;
+    private final int maxScan;
+    private final long maxStalenessMs;
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private volatile long lastRebuild;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public ProductSuggester(ProductRepository productRepository,
+            @Value("${search.suggest.max-scan:20000}") int maxScan,
+            @Value("${search.suggest.max-staleness-ms:600000}") long maxStalenessMs) {
+        this.productRepository = productRepository;
+        this.maxScan = maxScan;
+        this.maxStalenessMs = maxStalenessMs;
+    }
+
+    @Override
+    public void index(Product product) {
+        dirty.set(true);
+    }
+
+    @Override
+    public void remove(Long productId) {
+        dirty.set(true);
+    }
+
+    /**
+     * Suggest up to limit products whose name words or SKU start with the prefix, most popular first
+     */
+    public List<ProductSuggestionResponse> suggest(String prefix, int limit) {
+        String key = TextNormalizer.fold(prefix.trim());
+        Snapshot current = snapshot;
+        if (key.isEmpty() || current.keys.length == 0) {
+            return List.of();
+        }
+
+        // Min-heap on weight keeps the best `limit` suggestions seen so far
+        PriorityQueue<Integer> best = new PriorityQueue<>(Comparator.comparingLong(i -> current.weights[i]));
+        Set<Integer> seen = new HashSet<>();
+        int from = lowerBound(current.keys, key);
+        for (int i = from; i < current.keys.length && i - from < maxScan && current.keys[i].startsWith(key); i++) {
+            int suggestion = current.suggestionOfKey[i];
+            if (!seen.add(suggestion)) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(suggestion);
+            } else if (current.weights[suggestion] > current.weights[best.peek()]) {
+                best.poll();
+                best.add(suggestion);
+            }
+        }
+
+        List<ProductSuggestionResponse> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            int suggestion = best.poll();
+            result.add(new ProductSuggestionResponse(current.productIds[suggestion], current.names[suggestion],
+                    current.skus[suggestion]));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${search.suggest.refresh-interval-ms:30000}")
+    public void refreshIfDirty() {
+        // Popularity (orders, views) never marks the snapshot dirty, so weights are refreshed on age too
+        boolean stale = System.currentTimeMillis() - lastRebuild >= maxStalenessMs;
+        if (dirty.getAndSet(false) || stale) {
+            try {
+                rebuild();
+            } catch (RuntimeException ex) {
+                dirty.set(true);
+                log.error("Failed to rebuild product suggestions", ex);
+            }
+        }
+    }
+
+    /**
+     * Build a new snapshot from the database and publish it
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        Map<Long, Long> popularity = new HashMap<>();
+        for (ProductPopularityView view : productRepository.findPopularity()) {
+            popularity.put(view.productId(), view.score());
+        }
+
+        List<ProductSuggestionView> products = productRepository.findSuggestionViews();
+        int count = products.size();
+        long[] productIds = new long[count];
+        String[] names = new String[count];
+        String[] skus = new String[count];
+        long[] weights = new long[count];
+        List<KeyRef> keys = new ArrayList<>(count * 2);
+
+        for (int i = 0; i < count; i++) {
+            ProductSuggestionView product = products.get(i);
+            productIds[i] = product.id();
+            names[i] = product.name();
+            skus[i] = product.sku();
+            weights[i] = popularity.getOrDefault(product.id(), 0L);
+
+            String name = TextNormalizer.fold(product.name());
+            keys.add(new KeyRef(name, i));
+            int words = 1;
+            for (int c = 1; c < name.length() && words < MAX_WORD_KEYS_PER_NAME; c++) {
+                if (!Character.isLetterOrDigit(name.charAt(c - 1)) && Character.isLetterOrDigit(name.charAt(c))) {
+                    keys.add(new KeyRef(name.substring(c), i));
+                    words++;
+                }
+            }
+            if (product.sku() != null && !product.sku().isBlank()) {
+                keys.add(new KeyRef(TextNormalizer.fold(product.sku()), i));
+            }
+        }
+
+        keys.sort(Comparator.comparing(KeyRef::key));
+        String[] sortedKeys = new String[keys.size()];
+        int[] suggestionOfKey = new int[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            sortedKeys[i] = keys.get(i).key();
+            suggestionOfKey[i] = keys.get(i).suggestion();
+        }
+
+        snapshot = new Snapshot(sortedKeys, suggestionOfKey, productIds, names, skus, weights);
+        lastRebuild = start;
+        log.debug("Rebuilt product suggestions: {} products, {} keys in {} ms",
+                count, sortedKeys.length, System.currentTimeMillis() - start);
+    }
+
+    private static int lowerBound(String[] keys, String key) {
+        int index = Arrays.binarySearch(keys, key);
+        if (index < 0) {
+            return -index - 1;
+        }
+        // Step back over duplicate keys so none are skipped
+        while (index > 0 && keys[index - 1].equals(key)) {
+            index--;
+        }
+        return index;
+    }
+
+    private record KeyRef(String key, int suggestion) {
+    }
+
+    /**
+     * Immutable suggestion data: sorted keys pointing into parallel per-product arrays.
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new String[0], new int[0], new long[0], new String[0],
+                new String[0], new long[0]);
+
+        final String[] keys;
+        final int[] suggestionOfKey;
+        final long[] productIds;
+        final String[] names;
+        final String[] skus;
+        final long[] weights;
+
+        Snapshot(String[] keys, int[] suggestionOfKey, long[] productIds, String[] names, String[] skus,
+                long[] weights) {
+            this.keys = keys;
+            this.suggestionOfKey = suggestionOfKey;
+            this.productIds = productIds;
+            this.names = names;
+            this.skus = skus;
+            this.weights = weights;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.eticaret.backend.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Utility class for Turkish-aware case folding and tokenization.
+ * Text is lower-cased with the Turkish locale (so I/ı and İ/i fold correctly)
+ * and Turkish letters are then folded to ASCII, so "Çanta", "CANTA" and "çanta" all match.
+ */
+public final class TextNormalizer {
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr-TR");
+
+    private TextNormalizer() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Fold text to its lower-case ASCII search form
+     */
+    public static String fold(String text) {
+        String lower = text.toLowerCase(TURKISH);
+        StringBuilder folded = new StringBuilder(lower.length());
+        for (int i = 0; i < lower.length(); i++) {
+            folded.append(foldChar(lower.charAt(i)));
+        }
+        return folded.toString();
+    }
+
+    /**
+     * Split text into folded tokens on any non letter/digit character
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static char foldChar(char c) {
+        return switch (c) {
+            case 'ı', 'î' -> 'i';
+            case 'ğ' -> 'g';
+            case 'ü', 'û' -> 'u';
+            case 'ş' -> 's';
+            case 'ö' -> 'o';
+            case 'ç' -> 'c';
+            case 'â' -> 'a';
+            default -> c;
+        };
+    }
+}
@@ -1,7 +1,10 @@
 package com.eticaret.backend.service;
 
 import com.eticaret.backend.dto.request.AddToCartRequest;
+import com.eticaret.backend.dto.request.BatchAddToCartRequest;
+import com.eticaret.backend.dto.response.BatchAddToCartResponse;
 import com.eticaret.backend.dto.response.CartItemResponse;
+import com.eticaret.backend.dto.response.CartSummaryResponse;
 
 import java.util.List;
 
@@ -16,12 +19,19 @@ public interface CartService {
     CartItemResponse addToCart(Long userId, AddToCartRequest request);
 
     /**
-     * Remove item from cart
+     * Add several items to cart at once, with one result per item
+     */
+    BatchAddToCartResponse addToCartBatch(Long userId, BatchAddToCartRequest request);
+
+    /**
+     * Remove item from cart. cartItemId is the id of a CartItemResponse: the cart_items id of the
+     * line in either cart storage mode. Ids of removed lines are never reused, so a stale id is
+     * reported as not found.
      */
     void removeFromCart(Long userId, Long cartItemId);
 
     /**
-     * Update cart item quantity
+     * Update cart item quantity; cartItemId as for {@link #removeFromCart}
      */
     CartItemResponse updateQuantity(Long userId, Long cartItemId, Integer quantity);
 
@@ -34,4 +44,9 @@ public interface CartService {
      * Clear user's cart
      */
     void clearCart(Long userId);
+
+    /**
+     * Item count and total of user's cart, read without loading the cart lines
+     */
+    CartSummaryResponse getCartSummary(Long userId);
 }
@@ -32,6 +32,16 @@ public interface CategoryService {
      */
     List<CategoryResponse> getActiveCategories();
 
+    /**
+     * All or only active categories, with the version of the category data they were read from
+     */
+    Versioned<List<CategoryResponse>> getCategories(boolean activeOnly);
+
+    /**
+     * Category by id, with the version of the category data it was read from
+     */
+    Versioned<CategoryResponse> getVersionedCategoryById(Long id);
+
     /**
      * Update category
      */
@@ -46,4 +56,10 @@ public interface CategoryService {
      * Hard delete category
      */
     void hardDeleteCategory(Long id);
+
+    /**
+     * A read result and the category data version it came from; changes whenever categories change
+     */
+    record Versioned<T>(T value, long version) {
+    }
 }
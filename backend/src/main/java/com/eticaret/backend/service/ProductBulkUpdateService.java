@@ -0,0 +1,15 @@
+package com.eticaret.backend.service;
+
+import com.eticaret.backend.dto.request.BulkProductPatchRequest;
+import com.eticaret.backend.dto.response.BulkProductPatchResponse;
+
+/**
+ * Service interface for set-based bulk product updates.
+ */
+public interface ProductBulkUpdateService {
+
+    /**
+     * Apply price, stock and active patches to many products in one statement
+     */
+    BulkProductPatchResponse patchProducts(BulkProductPatchRequest request);
+}
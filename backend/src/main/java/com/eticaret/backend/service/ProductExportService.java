@@ -0,0 +1,15 @@
+package com.eticaret.backend.service;
+
+import java.io.OutputStream;
+
+/**
+ * Service interface for bulk catalog export.
+ */
+public interface ProductExportService {
+
+    /**
+     * Stream every product as newline-delimited JSON, one object per line, ordered by id.
+     * Returns the number of exported products.
+     */
+    long exportNdjson(OutputStream out);
+}
@@ -0,0 +1,21 @@
+package com.eticaret.backend.service;
+
+import com.eticaret.backend.dto.response.ProductImportResponse;
+
+import java.io.InputStream;
+
+/**
+ * Service interface for bulk catalog import.
+ */
+public interface ProductImportService {
+
+    /**
+     * Import CSV rows (with a header line) as new products
+     */
+    ProductImportResponse importCsv(InputStream in);
+
+    /**
+     * Import newline-delimited JSON objects as new products
+     */
+    ProductImportResponse importNdjson(InputStream in);
+}
@@ -2,9 +2,13 @@ package com.eticaret.backend.service;
 
 import com.eticaret.backend.dto.request.CreateProductRequest;
 import com.eticaret.backend.dto.request.UpdateProductRequest;
+import com.eticaret.backend.dto.response.PaginationResponse;
+import com.eticaret.backend.dto.response.ProductFacetResponse;
 import com.eticaret.backend.dto.response.ProductResponse;
+import com.eticaret.backend.dto.response.ProductSuggestionResponse;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * Service interface for Product operations.
@@ -22,19 +26,45 @@ public interface ProductService {
     ProductResponse getProductById(Long id);
 
     /**
-     * Get all products
+     * Get a keyset page of products, newest first.
+     * A null cursor returns the first page. Returns null, without reading the page, when
+     * {@code unchanged} accepts its ETag.
      */
-    List<ProductResponse> getAllProducts();
+    Tagged<PaginationResponse<ProductResponse>> getProductsPage(String cursor, int size,
+            Predicate<String> unchanged);
 
     /**
-     * Get all active products
+     * Get a keyset page of active products, newest first; null when {@code unchanged} accepts its ETag
      */
-    List<ProductResponse> getActiveProducts();
+    Tagged<PaginationResponse<ProductResponse>> getActiveProductsPage(String cursor, int size,
+            Predicate<String> unchanged);
 
     /**
-     * Get products by category
+     * Get a keyset page of products in a category, newest first; null when {@code unchanged} accepts its ETag
      */
-    List<ProductResponse> getProductsByCategory(Long categoryId);
+    Tagged<PaginationResponse<ProductResponse>> getProductsByCategoryPage(Long categoryId, String cursor, int size,
+            Predicate<String> unchanged);
+
+    /**
+     * Full-text search over active products, best matches first; null when {@code unchanged} accepts its ETag
+     */
+    Tagged<List<ProductResponse>> searchProducts(String query, int limit, Predicate<String> unchanged);
+
+    /**
+     * Typeahead suggestions for product names and SKUs starting with the prefix
+     */
+    List<ProductSuggestionResponse> suggestProducts(String prefix, int limit);
+
+    /**
+     * Products with the most recent cart and order activity, most active first
+     */
+    List<ProductResponse> getTrendingProducts(int limit);
+
+    /**
+     * Filter products by category, price bucket, active and in-stock facets, with facet counts
+     */
+    ProductFacetResponse filterProducts(List<Long> categoryIds, List<String> priceBuckets, Boolean active,
+            Boolean inStock, int limit);
 
     /**
      * Update product
@@ -55,4 +85,11 @@ public interface ProductService {
      * Check if SKU exists
      */
     boolean existsBySku(String sku);
+
+    /**
+     * A catalog read and its ETag. The tag is derived from the product and category data versions
+     * and the request before the read runs, so a matching revalidation skips the product queries.
+     */
+    record Tagged<T>(T value, String etag) {
+    }
 }
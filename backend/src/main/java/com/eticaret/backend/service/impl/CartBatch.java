@@ -0,0 +1,116 @@
+package com.eticaret.backend.service.impl;
+
+import com.eticaret.backend.dto.request.AddToCartRequest;
+import com.eticaret.backend.dto.request.BatchAddToCartRequest;
+import com.eticaret.backend.dto.response.BatchAddToCartResponse;
+import com.eticaret.backend.dto.response.BatchAddToCartResponse.ItemResult;
+import com.eticaret.backend.dto.response.BatchAddToCartResponse.Status;
+import com.eticaret.backend.dto.response.CartItemResponse;
+import com.eticaret.backend.exception.ValidationException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Per-item bookkeeping for a batch add to cart, shared by both cart stores: validates the items
+ * up front and collects one result per item in request order.
+ */
+final class CartBatch {
+
+    private final List<AddToCartRequest> items;
+    private final ItemResult[] results;
+    private final List<Integer> valid;
+
+    private CartBatch(List<AddToCartRequest> items, ItemResult[] results, List<Integer> valid) {
+        this.items = items;
+        this.results = results;
+        this.valid = valid;
+    }
+
+    static CartBatch of(BatchAddToCartRequest request, Validator validator, int maxItems) {
+        List<AddToCartRequest> items = request.getItems();
+        if (items.size() > maxItems) {
+            throw new ValidationException("At most " + maxItems + " items are allowed per request");
+        }
+
+        ItemResult[] results = new ItemResult[items.size()];
+        List<Integer> valid = new ArrayList<>(items.size());
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            AddToCartRequest item = items.get(i);
+            String problem = validate(item, validator, seen);
+            if (problem != null) {
+                results[i] = new ItemResult(i, item != null ? item.getProductId() : null, Status.INVALID, problem,
+                        null);
+            } else {
+                valid.add(i);
+            }
+        }
+        return new CartBatch(items, results, valid);
+    }
+
+    private static String validate(AddToCartRequest item, Validator validator, Set<Long> seen) {
+        if (item == null) {
+            return "Item cannot be null";
+        }
+        Set<ConstraintViolation<AddToCartRequest>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        return seen.add(item.getProductId()) ? null : "Duplicate item for the same product";
+    }
+
+    /**
+     * Indexes of the items that passed validation
+     */
+    List<Integer> valid() {
+        return valid;
+    }
+
+    AddToCartRequest item(int index) {
+        return items.get(index);
+    }
+
+    Set<Long> productIds() {
+        return valid.stream().map(i -> items.get(i).getProductId()).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Reject the item if the product is missing, inactive or short of stock for the new line
+     * quantity; returns whether it was rejected
+     */
+    boolean rejected(int index, boolean found, Boolean active, Integer stockQuantity, int lineQuantity) {
+        Long productId = items.get(index).getProductId();
+        if (!found) {
+            results[index] = new ItemResult(index, productId, Status.NOT_FOUND, "Product not found", null);
+        } else if (!active) {
+            results[index] = new ItemResult(index, productId, Status.UNAVAILABLE, "Product is not available", null);
+        } else if (stockQuantity < lineQuantity) {
+            results[index] = new ItemResult(index, productId, Status.INSUFFICIENT_STOCK,
+                    "Insufficient stock. Available: " + stockQuantity, null);
+        }
+        return results[index] != null;
+    }
+
+    void added(int index, CartItemResponse line) {
+        results[index] = new ItemResult(index, items.get(index).getProductId(), Status.ADDED, null, line);
+    }
+
+    BatchAddToCartResponse toResponse() {
+        BatchAddToCartResponse response = new BatchAddToCartResponse();
+        response.setResults(List.of(results));
+        response.setRequested(results.length);
+        response.setAdded((int) response.getResults().stream().filter(r -> r.getStatus() == Status.ADDED).count());
+        response.setFailed(results.length - response.getAdded());
+        return response;
+    }
+}
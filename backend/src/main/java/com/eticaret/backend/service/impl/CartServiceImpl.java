@@ -1,47 +1,74 @@
 package com.eticaret.backend.service.impl;
 
 import com.eticaret.backend.dto.request.AddToCartRequest;
+import com.eticaret.backend.dto.request.BatchAddToCartRequest;
+import com.eticaret.backend.dto.response.BatchAddToCartResponse;
 import com.eticaret.backend.dto.response.CartItemResponse;
+import com.eticaret.backend.dto.response.CartSummaryResponse;
 import com.eticaret.backend.exception.BusinessException;
 import com.eticaret.backend.mapper.CartItemMapper;
 import com.eticaret.backend.model.CartItem;
 import com.eticaret.backend.model.Product;
 import com.eticaret.backend.model.User;
 import com.eticaret.backend.repository.CartItemRepository;
+import com.eticaret.backend.repository.CartSummaryRepository;
 import com.eticaret.backend.repository.ProductRepository;
 import com.eticaret.backend.repository.UserRepository;
 import com.eticaret.backend.service.CartService;
+import com.eticaret.backend.stats.TrendingProducts;
+import com.eticaret.backend.util.MoneyUtils;
+import com.eticaret.backend.util.TransactionUtils;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
- * Implementation of CartService.
+ * Implementation of CartService storing carts in cart_items (cart.storage=database, the default).
  */
 @Service
+@ConditionalOnProperty(name = "cart.storage", havingValue = "database", matchIfMissing = true)
 @Transactional(readOnly = true)
 public class CartServiceImpl implements CartService {
 
     private static final Logger log = LoggerFactory.getLogger(CartServiceImpl.class);
 
     private final CartItemRepository cartItemRepository;
+    private final CartSummaryRepository cartSummaryRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
     private final CartItemMapper cartItemMapper;
+    private final TrendingProducts trendingProducts;
+    private final Validator validator;
+    private final int maxBatchItems;
 
     public CartServiceImpl(CartItemRepository cartItemRepository,
+            CartSummaryRepository cartSummaryRepository,
             ProductRepository productRepository,
             UserRepository userRepository,
-            CartItemMapper cartItemMapper) {
+            CartItemMapper cartItemMapper,
+            TrendingProducts trendingProducts,
+            Validator validator,
+            @Value("${cart.batch.max-items:100}") int maxBatchItems) {
         this.cartItemRepository = cartItemRepository;
+        this.cartSummaryRepository = cartSummaryRepository;
         this.productRepository = productRepository;
         this.userRepository = userRepository;
         this.cartItemMapper = cartItemMapper;
+        this.trendingProducts = trendingProducts;
+        this.validator = validator;
+        this.maxBatchItems = maxBatchItems;
     }
 
     @Override
@@ -89,11 +116,79 @@ public class CartServiceImpl implements CartService {
         }
 
         CartItem savedItem = cartItemRepository.save(cartItem);
+        cartSummaryRepository.applyChange(userId, request.getQuantity(),
+                MoneyUtils.toMinorUnits(savedItem.getPrice()) * request.getQuantity());
         log.info("Cart item saved successfully");
 
+        TransactionUtils.runAfterCommit(() -> trendingProducts.recordCartAdd(product.getId()));
+
         return cartItemMapper.toResponse(savedItem);
     }
 
+    /**
+     * One transaction and a fixed number of queries whatever the item count: the user, the products
+     * (with categories), the user's existing lines for them, then batched inserts and updates.
+     */
+    @Override
+    @Transactional
+    public BatchAddToCartResponse addToCartBatch(Long userId, BatchAddToCartRequest request) {
+        CartBatch batch = CartBatch.of(request, validator, maxBatchItems);
+        log.info("Adding {} products to cart for user {}", request.getItems().size(), userId);
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new BusinessException("User not found with id: " + userId));
+
+        Set<Long> productIds = batch.productIds();
+        if (productIds.isEmpty()) {
+            return batch.toResponse();
+        }
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<Long, CartItem> lines = cartItemRepository.findByUserIdAndProductIdIn(userId, productIds).stream()
+                .collect(Collectors.toMap(item -> item.getProduct().getId(), Function.identity()));
+
+        // Merge into the existing lines in memory; nothing is written until every item is checked
+        List<Integer> accepted = new ArrayList<>();
+        List<CartItem> changed = new ArrayList<>();
+        int addedItems = 0;
+        long addedMinor = 0;
+        for (int index : batch.valid()) {
+            AddToCartRequest item = batch.item(index);
+            Product product = products.get(item.getProductId());
+            CartItem line = lines.get(item.getProductId());
+            int quantity = (line != null ? line.getQuantity() : 0) + item.getQuantity();
+            if (batch.rejected(index, product != null, product != null ? product.getActive() : null,
+                    product != null ? product.getStockQuantity() : null, quantity)) {
+                continue;
+            }
+
+            if (line == null) {
+                line = new CartItem(user, product, quantity, product.getPrice());
+            } else {
+                line.setQuantity(quantity);
+            }
+            accepted.add(index);
+            changed.add(line);
+            addedItems += item.getQuantity();
+            addedMinor += MoneyUtils.toMinorUnits(line.getPrice()) * item.getQuantity();
+        }
+
+        List<CartItem> saved = cartItemRepository.saveAll(changed);
+        if (!changed.isEmpty()) {
+            cartSummaryRepository.applyChange(userId, addedItems, addedMinor);
+        }
+        for (int i = 0; i < saved.size(); i++) {
+            batch.added(accepted.get(i), cartItemMapper.toResponse(saved.get(i)));
+        }
+
+        List<Long> addedProductIds = changed.stream().map(line -> line.getProduct().getId()).toList();
+        TransactionUtils.runAfterCommit(() -> addedProductIds.forEach(trendingProducts::recordCartAdd));
+
+        BatchAddToCartResponse response = batch.toResponse();
+        log.info("Batch add to cart finished: {} added, {} failed", response.getAdded(), response.getFailed());
+        return response;
+    }
+
     @Override
     @Transactional
     public void removeFromCart(Long userId, Long cartItemId) {
@@ -107,6 +202,8 @@ public class CartServiceImpl implements CartService {
         }
 
         cartItemRepository.delete(cartItem);
+        cartSummaryRepository.applyChange(userId, -cartItem.getQuantity(),
+                -MoneyUtils.toMinorUnits(cartItem.getPrice()) * cartItem.getQuantity());
         log.info("Cart item removed successfully");
     }
 
@@ -131,8 +228,10 @@ public class CartServiceImpl implements CartService {
             throw new BusinessException("Insufficient stock. Available: " + cartItem.getProduct().getStockQuantity());
         }
 
+        int delta = quantity - cartItem.getQuantity();
         cartItem.setQuantity(quantity);
         CartItem updatedItem = cartItemRepository.save(cartItem);
+        cartSummaryRepository.applyChange(userId, delta, MoneyUtils.toMinorUnits(cartItem.getPrice()) * delta);
 
         log.info("Cart item quantity updated successfully");
         return cartItemMapper.toResponse(updatedItem);
@@ -142,7 +241,7 @@ public class CartServiceImpl implements CartService {
     public List<CartItemResponse> getCartItems(Long userId) {
         log.debug("Fetching cart items for user {}", userId);
 
-        List<CartItem> cartItems = cartItemRepository.findByUserId(userId);
+        List<CartItem> cartItems = cartItemRepository.findCartView(userId);
 
         return cartItems.stream()
                 .map(cartItemMapper::toResponse)
@@ -155,6 +254,16 @@ public class CartServiceImpl implements CartService {
         log.info("Clearing cart for user {}", userId);
 
         cartItemRepository.deleteByUserId(userId);
+        cartSummaryRepository.recompute(List.of(userId));
         log.info("Cart cleared successfully");
     }
+
+    @Override
+    public CartSummaryResponse getCartSummary(Long userId) {
+        log.debug("Fetching cart summary for user {}", userId);
+
+        return cartSummaryRepository.findById(userId)
+                .map(summary -> new CartSummaryResponse(userId, summary.getItemCount(), summary.getTotalMinor()))
+                .orElseGet(() -> new CartSummaryResponse(userId, 0, 0));
+    }
 }
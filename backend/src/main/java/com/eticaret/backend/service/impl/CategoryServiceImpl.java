@@ -1,5 +1,6 @@
 package com.eticaret.backend.service.impl;
 
+import com.eticaret.backend.cache.CategorySnapshotCache;
 import com.eticaret.backend.dto.request.CreateCategoryRequest;
 import com.eticaret.backend.dto.request.UpdateCategoryRequest;
 import com.eticaret.backend.dto.response.CategoryResponse;
@@ -12,14 +13,15 @@ import com.eticaret.backend.service.CategoryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of CategoryService interface.
  * Contains business logic for category operations.
+ * Reads are served from an in-memory snapshot that every write rebuilds after commit.
  */
 @Service
 @Transactional(readOnly = true)
@@ -29,10 +31,13 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final CategorySnapshotCache categorySnapshot;
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, CategoryMapper categoryMapper,
+            CategorySnapshotCache categorySnapshot) {
         this.categoryRepository = categoryRepository;
         this.categoryMapper = categoryMapper;
+        this.categorySnapshot = categorySnapshot;
     }
 
     @Override
@@ -47,37 +52,58 @@ public class CategoryServiceImpl implements CategoryService {
 
         Category category = categoryMapper.toEntity(request);
         Category savedCategory = categoryRepository.save(category);
+        categorySnapshot.refreshAfterCommit();
 
         log.info("Category created successfully with id: {}", savedCategory.getId());
         return categoryMapper.toResponse(savedCategory);
     }
 
+    /**
+     * Served from the category snapshot; no transaction is needed, and callers waiting on
+     * the first snapshot load do not hold a connection
+     */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public CategoryResponse getCategoryById(Long id) {
-        log.debug("Fetching category with id: {}", id);
+        return getVersionedCategoryById(id).value();
+    }
 
-        Category category = categoryRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Category", id));
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Versioned<CategoryResponse> getVersionedCategoryById(Long id) {
+        log.debug("Fetching category with id: {}", id);
 
-        return categoryMapper.toResponse(category);
+        CategorySnapshotCache.Snapshot snapshot = categorySnapshot.get();
+        CategoryResponse category = snapshot.byId().get(id);
+        if (category == null) {
+            throw new NotFoundException("Category", id);
+        }
+        return new Versioned<>(category, snapshot.version());
     }
 
     @Override
     public List<CategoryResponse> getAllCategories() {
         log.debug("Fetching all categories");
 
-        return categoryRepository.findAll().stream()
-                .map(categoryMapper::toResponse)
-                .collect(Collectors.toList());
+        return categorySnapshot.get().all();
     }
 
     @Override
     public List<CategoryResponse> getActiveCategories() {
         log.debug("Fetching active categories");
 
-        return categoryRepository.findByActiveTrue().stream()
-                .map(categoryMapper::toResponse)
-                .collect(Collectors.toList());
+        return categorySnapshot.get().active();
+    }
+
+    /**
+     * Body and version come from the same snapshot, so the version always describes the body
+     */
+    @Override
+    public Versioned<List<CategoryResponse>> getCategories(boolean activeOnly) {
+        log.debug("Fetching categories, activeOnly: {}", activeOnly);
+
+        CategorySnapshotCache.Snapshot snapshot = categorySnapshot.get();
+        return new Versioned<>(activeOnly ? snapshot.active() : snapshot.all(), snapshot.version());
     }
 
     @Override
@@ -97,6 +123,7 @@ public class CategoryServiceImpl implements CategoryService {
 
         categoryMapper.updateEntityFromRequest(request, category);
         Category updatedCategory = categoryRepository.save(category);
+        categorySnapshot.refreshAfterCommit();
 
         log.info("Category updated successfully with id: {}", id);
         return categoryMapper.toResponse(updatedCategory);
@@ -112,6 +139,7 @@ public class CategoryServiceImpl implements CategoryService {
 
         category.setActive(false);
         categoryRepository.save(category);
+        categorySnapshot.refreshAfterCommit();
 
         log.info("Category soft deleted successfully with id: {}", id);
     }
@@ -126,6 +154,7 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         categoryRepository.deleteById(id);
+        categorySnapshot.refreshAfterCommit();
         log.info("Category hard deleted successfully with id: {}", id);
     }
 }
@@ -1,25 +1,35 @@
 package com.eticaret.backend.service.impl;
 
+import com.eticaret.backend.cache.ProductCache;
+import com.eticaret.backend.cart.RedisCartStore;
 import com.eticaret.backend.dto.request.CreateOrderRequest;
 import com.eticaret.backend.dto.response.OrderResponse;
 import com.eticaret.backend.exception.BusinessException;
 import com.eticaret.backend.mapper.OrderMapper;
+import com.eticaret.backend.model.CacheVersion;
 import com.eticaret.backend.model.CartItem;
 import com.eticaret.backend.model.Order;
 import com.eticaret.backend.model.Product;
 import com.eticaret.backend.model.User;
+import com.eticaret.backend.repository.CacheVersionRepository;
 import com.eticaret.backend.repository.CartItemRepository;
+import com.eticaret.backend.repository.CartSummaryRepository;
 import com.eticaret.backend.repository.OrderRepository;
 import com.eticaret.backend.repository.ProductRepository;
 import com.eticaret.backend.repository.UserRepository;
 import com.eticaret.backend.service.OrderService;
+import com.eticaret.backend.stats.TrendingProducts;
+import com.eticaret.backend.util.TransactionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -34,19 +44,35 @@ public class OrderServiceImpl implements OrderService {
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final CartItemRepository cartItemRepository;
+    private final CartSummaryRepository cartSummaryRepository;
     private final ProductRepository productRepository;
+    private final CacheVersionRepository cacheVersionRepository;
     private final OrderMapper orderMapper;
+    private final ProductCache productCache;
+    private final TrendingProducts trendingProducts;
+    // Present only with cart.storage=redis
+    private final ObjectProvider<RedisCartStore> redisCartStore;
 
     public OrderServiceImpl(OrderRepository orderRepository,
             UserRepository userRepository,
             CartItemRepository cartItemRepository,
+            CartSummaryRepository cartSummaryRepository,
             ProductRepository productRepository,
-            OrderMapper orderMapper) {
+            CacheVersionRepository cacheVersionRepository,
+            OrderMapper orderMapper,
+            ProductCache productCache,
+            TrendingProducts trendingProducts,
+            ObjectProvider<RedisCartStore> redisCartStore) {
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
         this.cartItemRepository = cartItemRepository;
+        this.cartSummaryRepository = cartSummaryRepository;
         this.productRepository = productRepository;
+        this.cacheVersionRepository = cacheVersionRepository;
         this.orderMapper = orderMapper;
+        this.productCache = productCache;
+        this.trendingProducts = trendingProducts;
+        this.redisCartStore = redisCartStore;
     }
 
     @Override
@@ -57,6 +83,9 @@ public class OrderServiceImpl implements OrderService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new BusinessException("User not found with id: " + userId));
 
+        // Carts kept in Redis are written behind; bring cart_items up to date in this transaction
+        redisCartStore.ifAvailable(store -> store.flush(userId));
+
         // Get cart items
         List<CartItem> cartItems = cartItemRepository.findByUserId(userId);
 
@@ -64,10 +93,16 @@ public class OrderServiceImpl implements OrderService {
             throw new BusinessException("Cart is empty");
         }
 
+        // Lock the products before touching them, so stock is checked and reduced against
+        // the current rows rather than a cached (possibly stale) copy
+        List<Long> productIds = cartItems.stream().map(item -> item.getProduct().getId()).toList();
+        Map<Long, Product> products = productRepository.findAllForUpdate(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
         // Calculate total amount and validate stock
         BigDecimal totalAmount = BigDecimal.ZERO;
         for (CartItem item : cartItems) {
-            Product product = item.getProduct();
+            Product product = products.get(item.getProduct().getId());
 
             // Check stock availability
             if (product.getStockQuantity() < item.getQuantity()) {
@@ -90,13 +125,20 @@ public class OrderServiceImpl implements OrderService {
 
         // Reduce stock quantities
         for (CartItem item : cartItems) {
-            Product product = item.getProduct();
+            Product product = products.get(item.getProduct().getId());
             product.setStockQuantity(product.getStockQuantity() - item.getQuantity());
             productRepository.save(product);
         }
+        // Stock is part of the cached product; also evicts it from other nodes' entity caches
+        cacheVersionRepository.bump(CacheVersion.PRODUCTS);
+        productCache.invalidateAll(productIds);
 
         // Clear cart
         cartItemRepository.deleteByUserId(userId);
+        cartSummaryRepository.recompute(List.of(userId));
+        redisCartStore.ifAvailable(store -> TransactionUtils.runAfterCommit(() -> store.clear(userId)));
+
+        TransactionUtils.runAfterCommit(() -> trendingProducts.recordOrder(productIds));
 
         log.info("Order created successfully with id: {}", savedOrder.getId());
         return orderMapper.toResponse(savedOrder);
@@ -116,9 +158,7 @@ public class OrderServiceImpl implements OrderService {
     public List<OrderResponse> getUserOrders(Long userId) {
         log.debug("Fetching orders for user {}", userId);
 
-        List<Order> orders = orderRepository.findByUserId(userId);
-
-        return orders.stream()
+        return orderRepository.findViewsByUserId(userId).stream()
                 .map(orderMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -0,0 +1,272 @@
+package com.eticaret.backend.service.impl;
+
+import com.eticaret.backend.cache.ProductCache;
+import com.eticaret.backend.dto.request.BulkProductPatchRequest;
+import com.eticaret.backend.dto.request.BulkProductPatchRequest.ProductPatch;
+import com.eticaret.backend.dto.response.BulkProductPatchResponse;
+import com.eticaret.backend.dto.response.BulkProductPatchResponse.PatchResult;
+import com.eticaret.backend.dto.response.BulkProductPatchResponse.Status;
+import com.eticaret.backend.exception.ValidationException;
+import com.eticaret.backend.model.CacheVersion;
+import com.eticaret.backend.model.Category;
+import com.eticaret.backend.model.Product;
+import com.eticaret.backend.repository.CacheVersionRepository;
+import com.eticaret.backend.search.ProductIndex;
+import com.eticaret.backend.service.ProductBulkUpdateService;
+import com.eticaret.backend.util.TransactionUtils;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of ProductBulkUpdateService.
+ * SKU patches are first resolved to product ids with one SELECT, so every patch targets ids and two
+ * patches for the same row are caught before anything is written. All valid patches are then applied
+ * by a single UPDATE ... FROM (VALUES ...) statement joined on the id, whose RETURNING clause reports
+ * which products were updated. The returned rows also feed the in-memory indexes, and the caches of
+ * all updated products are invalidated with one call.
+ */
+@Service
+public class ProductBulkUpdateServiceImpl implements ProductBulkUpdateService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductBulkUpdateServiceImpl.class);
+
+    // Locks the matched rows, so a SKU cannot move to another product before the UPDATE
+    private static final String RESOLVE_SKUS_SQL_HEAD = "SELECT id, sku FROM products WHERE sku IN (";
+    private static final String RESOLVE_SKUS_SQL_TAIL = ") FOR UPDATE";
+
+    private static final String UPDATE_SQL_HEAD = """
+            UPDATE products p
+            SET price = COALESCE(v.price, p.price),
+                stock_quantity = COALESCE(v.stock_quantity, p.stock_quantity),
+                active = COALESCE(v.active, p.active),
+                updated_at = ?
+            FROM (VALUES\s""";
+
+    private static final String VALUES_ROW = "(?::bigint, ?::numeric, ?::integer, ?::boolean)";
+    private static final int[] VALUES_TYPES = { Types.BIGINT, Types.NUMERIC, Types.INTEGER, Types.BOOLEAN };
+
+    private static final String UPDATE_SQL_TAIL = """
+            ) AS v(id, price, stock_quantity, active)
+            WHERE p.id = v.id
+            RETURNING p.id, p.name, p.description, p.price, p.stock_quantity, p.sku, p.active,
+                      p.category_id, p.created_at, p.updated_at""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheVersionRepository cacheVersionRepository;
+    private final ProductCache productCache;
+    private final Validator validator;
+    private final List<ProductIndex> productIndexes;
+    private final int maxPatches;
+
+    public ProductBulkUpdateServiceImpl(JdbcTemplate jdbcTemplate,
+            CacheVersionRepository cacheVersionRepository,
+            ProductCache productCache,
+            Validator validator,
+            List<ProductIndex> productIndexes,
+            @Value("${bulk.products.max-patches:1000}") int maxPatches) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheVersionRepository = cacheVersionRepository;
+        this.productCache = productCache;
+        this.validator = validator;
+        this.productIndexes = productIndexes;
+        this.maxPatches = maxPatches;
+    }
+
+    @Override
+    @Transactional
+    public BulkProductPatchResponse patchProducts(BulkProductPatchRequest request) {
+        List<ProductPatch> patches = request.getPatches();
+        if (patches.size() > maxPatches) {
+            throw new ValidationException("At most " + maxPatches + " patches are allowed per request");
+        }
+        log.info("Applying {} bulk product patches", patches.size());
+
+        PatchResult[] results = new PatchResult[patches.size()];
+        List<Integer> valid = new ArrayList<>(patches.size());
+        for (int i = 0; i < patches.size(); i++) {
+            ProductPatch patch = patches.get(i);
+            String problem = validate(patch);
+            if (problem != null) {
+                results[i] = new PatchResult(i, patch.getId(), patch.getSku(), List.of(), Status.INVALID, problem);
+            } else {
+                valid.add(i);
+            }
+        }
+
+        Map<Integer, List<Long>> targets = resolveTargets(patches, valid, resolveSkus(patches, valid), results);
+        Set<Long> updatedIds = targets.isEmpty() ? Set.of() : applyPatches(patches, targets);
+
+        BulkProductPatchResponse response = toResponse(patches, results, targets, updatedIds);
+        log.info("Bulk product patch finished: {} updated, {} failed", response.getUpdated(), response.getFailed());
+        return response;
+    }
+
+    private String validate(ProductPatch patch) {
+        if (patch == null) {
+            return "Patch cannot be null";
+        }
+        if ((patch.getId() == null) == (patch.getSku() == null)) {
+            return "Exactly one of id or sku is required";
+        }
+        if (patch.getPrice() == null && patch.getStockQuantity() == null && patch.getActive() == null) {
+            return "Nothing to update";
+        }
+        Set<ConstraintViolation<ProductPatch>> violations = validator.validate(patch);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        return null;
+    }
+
+    /**
+     * Product ids of every SKU used by the valid patches, read with one query
+     */
+    private Map<String, List<Long>> resolveSkus(List<ProductPatch> patches, List<Integer> valid) {
+        List<String> skus = valid.stream()
+                .map(i -> patches.get(i).getSku())
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (skus.isEmpty()) {
+            return Map.of();
+        }
+        String sql = RESOLVE_SKUS_SQL_HEAD + String.join(", ", Collections.nCopies(skus.size(), "?"))
+                + RESOLVE_SKUS_SQL_TAIL;
+        Map<String, List<Long>> idsBySku = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            idsBySku.computeIfAbsent(rs.getString("sku"), key -> new ArrayList<>()).add(rs.getLong("id"));
+        }, skus.toArray());
+        return idsBySku;
+    }
+
+    /**
+     * Product ids each valid patch targets, in request order. A SKU that matches nothing is recorded as
+     * NOT_FOUND, and a patch reaching a product an earlier patch already targets is recorded as INVALID,
+     * since two patches for one row would be applied in an undefined order.
+     */
+    static Map<Integer, List<Long>> resolveTargets(List<ProductPatch> patches, List<Integer> valid,
+            Map<String, List<Long>> idsBySku, PatchResult[] results) {
+        Map<Integer, List<Long>> targets = new LinkedHashMap<>();
+        Set<Long> claimed = new HashSet<>();
+        for (int i : valid) {
+            ProductPatch patch = patches.get(i);
+            List<Long> ids = patch.getId() != null
+                    ? List.of(patch.getId())
+                    : idsBySku.getOrDefault(patch.getSku(), List.of());
+            if (ids.isEmpty()) {
+                results[i] = new PatchResult(i, patch.getId(), patch.getSku(), List.of(), Status.NOT_FOUND,
+                        "Product not found");
+            } else if (ids.stream().anyMatch(claimed::contains)) {
+                results[i] = new PatchResult(i, patch.getId(), patch.getSku(), List.of(), Status.INVALID,
+                        "Duplicate patch for the same product");
+            } else {
+                claimed.addAll(ids);
+                targets.put(i, ids);
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * Fills in the results of the targeted patches from the ids the UPDATE returned and builds the response
+     */
+    static BulkProductPatchResponse toResponse(List<ProductPatch> patches, PatchResult[] results,
+            Map<Integer, List<Long>> targets, Set<Long> updatedIds) {
+        targets.forEach((i, ids) -> {
+            ProductPatch patch = patches.get(i);
+            List<Long> productIds = ids.stream().filter(updatedIds::contains).toList();
+            results[i] = productIds.isEmpty()
+                    ? new PatchResult(i, patch.getId(), patch.getSku(), List.of(), Status.NOT_FOUND, "Product not found")
+                    : new PatchResult(i, patch.getId(), patch.getSku(), productIds, Status.UPDATED, null);
+        });
+        BulkProductPatchResponse response = new BulkProductPatchResponse();
+        response.setResults(List.of(results));
+        response.setRequested(patches.size());
+        response.setUpdated((int) response.getResults().stream().filter(r -> r.getStatus() == Status.UPDATED).count());
+        response.setFailed(patches.size() - response.getUpdated());
+        return response;
+    }
+
+    /**
+     * Runs the single UPDATE for the targeted products and returns the ids it updated
+     */
+    private Set<Long> applyPatches(List<ProductPatch> patches, Map<Integer, List<Long>> targets) {
+        LocalDateTime now = LocalDateTime.now();
+        int rows = targets.values().stream().mapToInt(List::size).sum();
+        StringBuilder sql = new StringBuilder(UPDATE_SQL_HEAD.length() + rows * (VALUES_ROW.length() + 2)
+                + UPDATE_SQL_TAIL.length());
+        sql.append(UPDATE_SQL_HEAD);
+        // Explicit SQL types, so null values need no parameter metadata lookup
+        Object[] args = new Object[1 + rows * VALUES_TYPES.length];
+        int[] argTypes = new int[args.length];
+        args[0] = Timestamp.valueOf(now);
+        argTypes[0] = Types.TIMESTAMP;
+        int row = 0;
+        for (Map.Entry<Integer, List<Long>> target : targets.entrySet()) {
+            ProductPatch patch = patches.get(target.getKey());
+            for (Long id : target.getValue()) {
+                sql.append(row == 0 ? "" : ", ").append(VALUES_ROW);
+                int offset = 1 + row * VALUES_TYPES.length;
+                args[offset] = id;
+                args[offset + 1] = patch.getPrice();
+                args[offset + 2] = patch.getStockQuantity();
+                args[offset + 3] = patch.getActive();
+                System.arraycopy(VALUES_TYPES, 0, argTypes, offset, VALUES_TYPES.length);
+                row++;
+            }
+        }
+        sql.append(UPDATE_SQL_TAIL);
+
+        List<Product> updated = jdbcTemplate.query(sql.toString(), args, argTypes,
+                (rs, rowNum) -> toProduct(rs));
+
+        List<Long> updatedIds = updated.stream().map(Product::getId).toList();
+        if (!updatedIds.isEmpty()) {
+            cacheVersionRepository.bump(CacheVersion.PRODUCTS);
+        }
+        productCache.invalidateAll(updatedIds);
+        TransactionUtils.runAfterCommit(() -> updated.forEach(
+                product -> productIndexes.forEach(index -> index.index(product))));
+        return new HashSet<>(updatedIds);
+    }
+
+    private static Product toProduct(ResultSet rs) throws SQLException {
+        Category category = null;
+        long categoryId = rs.getLong("category_id");
+        if (!rs.wasNull()) {
+            category = new Category();
+            category.setId(categoryId);
+        }
+        Product product = new Product(rs.getString("name"), rs.getString("description"), rs.getBigDecimal("price"),
+                rs.getInt("stock_quantity"), rs.getString("sku"), category, rs.getBoolean("active"));
+        product.setId(rs.getLong("id"));
+        product.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        product.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+        return product;
+    }
+}
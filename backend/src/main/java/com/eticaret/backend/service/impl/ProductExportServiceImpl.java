@@ -0,0 +1,108 @@
+package com.eticaret.backend.service.impl;
+
+import com.eticaret.backend.service.ProductExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Implementation of ProductExportService.
+ * Reads the catalog through a forward-only JDBC cursor and writes each row as soon as it is read,
+ * so memory use does not depend on the catalog size. PostgreSQL only streams with a fetch size
+ * inside a transaction, hence the read-only transaction around the whole export.
+ */
+@Service
+public class ProductExportServiceImpl implements ProductExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductExportServiceImpl.class);
+
+    private static final String EXPORT_SQL = """
+            SELECT p.id, p.name, p.description, p.price, p.stock_quantity, p.sku, p.active,
+                   p.category_id, c.name AS category_name, p.created_at, p.updated_at
+            FROM products p
+            LEFT JOIN categories c ON c.id = p.category_id
+            ORDER BY p.id""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public ProductExportServiceImpl(JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            @Value("${export.products.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream out) {
+        long start = System.currentTimeMillis();
+        long[] count = {0};
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // The response stream is owned by the caller; lines are separated by '\n' only
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, (ResultSet rs) -> {
+                writeRow(generator, rs);
+                count[0]++;
+            });
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Product export failed after " + count[0] + " rows", ex);
+        }
+
+        log.info("Exported {} products in {} ms", count[0], System.currentTimeMillis() - start);
+        return count[0];
+    }
+
+    private static void writeRow(JsonGenerator generator, ResultSet rs) throws SQLException {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong("id"));
+            generator.writeStringField("name", rs.getString("name"));
+            generator.writeStringField("description", rs.getString("description"));
+            generator.writeNumberField("price", rs.getBigDecimal("price"));
+            generator.writeNumberField("stockQuantity", rs.getInt("stock_quantity"));
+            generator.writeStringField("sku", rs.getString("sku"));
+            generator.writeBooleanField("active", rs.getBoolean("active"));
+            long categoryId = rs.getLong("category_id");
+            if (rs.wasNull()) {
+                generator.writeNullField("categoryId");
+            } else {
+                generator.writeNumberField("categoryId", categoryId);
+            }
+            generator.writeStringField("categoryName", rs.getString("category_name"));
+            generator.writeStringField("createdAt", format(rs.getTimestamp("created_at")));
+            generator.writeStringField("updatedAt", format(rs.getTimestamp("updated_at")));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException ex) {
+            // Client went away; abort the cursor instead of reading the rest of the table
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String format(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime().toString();
+    }
+}
@@ -0,0 +1,363 @@
+package com.eticaret.backend.service.impl;
+
+import com.eticaret.backend.cache.ProductCache;
+import com.eticaret.backend.cache.SecondLevelCacheEvictor;
+import com.eticaret.backend.dto.request.CreateProductRequest;
+import com.eticaret.backend.dto.response.ProductImportResponse;
+import com.eticaret.backend.model.CacheVersion;
+import com.eticaret.backend.model.Category;
+import com.eticaret.backend.model.Product;
+import com.eticaret.backend.repository.CacheVersionRepository;
+import com.eticaret.backend.repository.CategoryRepository;
+import com.eticaret.backend.search.ProductIndex;
+import com.eticaret.backend.service.ProductImportService;
+import com.eticaret.backend.util.PooledIds;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of ProductImportService.
+ * Uploads are parsed row by row and never held in memory as a whole. Each row is validated with
+ * the CreateProductRequest constraints and checked against SKU and category sets preloaded once,
+ * then inserted in JDBC batches, each committed in its own transaction. A failing batch is
+ * retried row by row, so only the rows the database refuses are rejected, each with its own error;
+ * it does not undo the batches before it.
+ */
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportServiceImpl.class);
+
+    private static final String INSERT_SQL = """
+            INSERT INTO products (id, name, description, price, stock_quantity, sku, category_id, active,
+                                  created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private static final String ID_SEQUENCE = "products_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CategoryRepository categoryRepository;
+    private final CacheVersionRepository cacheVersionRepository;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = new CsvMapper();
+    private final Validator validator;
+    private final List<ProductIndex> productIndexes;
+    private final ProductCache productCache;
+    private final SecondLevelCacheEvictor secondLevelCache;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final int idAllocationSize;
+
+    public ProductImportServiceImpl(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            CategoryRepository categoryRepository,
+            CacheVersionRepository cacheVersionRepository,
+            ObjectMapper objectMapper,
+            Validator validator,
+            List<ProductIndex> productIndexes,
+            ProductCache productCache,
+            SecondLevelCacheEvictor secondLevelCache,
+            @Value("${import.products.batch-size:1000}") int batchSize,
+            @Value("${import.products.max-reported-errors:100}") int maxReportedErrors,
+            @Value("${spring.jpa.properties.eticaret.id.allocation_size:50}") int idAllocationSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.categoryRepository = categoryRepository;
+        this.cacheVersionRepository = cacheVersionRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.productIndexes = productIndexes;
+        this.productCache = productCache;
+        this.secondLevelCache = secondLevelCache;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.idAllocationSize = idAllocationSize;
+    }
+
+    @Override
+    public ProductImportResponse importCsv(InputStream in) {
+        ImportRun run = startRun();
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        try (MappingIterator<Map<String, String>> rows = csvMapper.readerFor(Map.class).with(schema).readValues(in)) {
+            long rowNumber = 0;
+            while (rows.hasNextValue()) {
+                rowNumber++;
+                Map<String, String> values = rows.nextValue();
+                // Empty cells mean "no value", as a missing JSON field does
+                values.replaceAll((column, value) -> value == null || value.isEmpty() ? null : value);
+                try {
+                    run.accept(rowNumber, objectMapper.convertValue(values, CreateProductRequest.class));
+                } catch (IllegalArgumentException ex) {
+                    run.reject(rowNumber, values.get("sku"), ex.getCause() instanceof JsonProcessingException cause
+                            ? describe(cause)
+                            : "Invalid value: " + rootMessage(ex));
+                }
+            }
+        } catch (IOException | RuntimeJsonMappingException ex) {
+            // A structurally broken file cannot be resynchronized; keep what was imported so far
+            run.abort("Malformed CSV: " + rootMessage(ex));
+        }
+        return run.finish();
+    }
+
+    @Override
+    public ProductImportResponse importNdjson(InputStream in) {
+        ImportRun run = startRun();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            long rowNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                rowNumber++;
+                try {
+                    run.accept(rowNumber, objectMapper.readValue(line, CreateProductRequest.class));
+                } catch (JsonProcessingException ex) {
+                    run.reject(rowNumber, null, describe(ex));
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read product import", ex);
+        }
+        return run.finish();
+    }
+
+    private ImportRun startRun() {
+        Set<String> existingSkus = new HashSet<>(
+                jdbcTemplate.queryForList("SELECT sku FROM products WHERE sku IS NOT NULL", String.class));
+        Map<Long, Category> categories = categoryRepository.findAll().stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+        return new ImportRun(existingSkus, categories);
+    }
+
+    private static String describe(JsonProcessingException ex) {
+        if (ex instanceof JsonMappingException mappingException && !mappingException.getPath().isEmpty()) {
+            return "Invalid value for '" + mappingException.getPath().get(0).getFieldName() + "'";
+        }
+        return "Invalid JSON: " + ex.getOriginalMessage();
+    }
+
+    private static String rootMessage(Throwable ex) {
+        Throwable root = ex;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    /**
+     * Inserts one batch; ids holds the id of each row, in row order
+     */
+    private void insertBatch(List<PendingRow> rows, List<Long> ids, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                CreateProductRequest request = rows.get(i).request();
+                ps.setLong(1, ids.get(i));
+                ps.setString(2, request.getName());
+                ps.setString(3, request.getDescription());
+                ps.setBigDecimal(4, request.getPrice());
+                ps.setInt(5, request.getStockQuantity() != null ? request.getStockQuantity() : 0);
+                if (request.getSku() != null) {
+                    ps.setString(6, request.getSku());
+                } else {
+                    ps.setNull(6, Types.VARCHAR);
+                }
+                ps.setLong(7, request.getCategoryId());
+                ps.setBoolean(8, true);
+                ps.setTimestamp(9, timestamp);
+                ps.setTimestamp(10, timestamp);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+        cacheVersionRepository.bump(CacheVersion.PRODUCTS);
+    }
+
+    /**
+     * Ids from products_seq, in whole blocks so imported and JPA-created ids never collide
+     */
+    private List<Long> allocateIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            List<Long> block = PooledIds.nextBlock(jdbcTemplate, ID_SEQUENCE, idAllocationSize);
+            ids.addAll(block.subList(0, Math.min(block.size(), count - ids.size())));
+        }
+        return ids;
+    }
+
+    /**
+     * A validated row waiting for its batch to be flushed.
+     */
+    private record PendingRow(long rowNumber, CreateProductRequest request) {
+    }
+
+    /**
+     * State of one import: preloaded lookup sets, the pending batch and the running result.
+     */
+    private final class ImportRun {
+
+        private final Set<String> knownSkus;
+        private final Map<Long, Category> categories;
+        private final List<PendingRow> batch = new ArrayList<>(batchSize);
+        private final ProductImportResponse response = new ProductImportResponse();
+        private final long start = System.nanoTime();
+        private long lastRowNumber;
+
+        ImportRun(Set<String> knownSkus, Map<Long, Category> categories) {
+            this.knownSkus = knownSkus;
+            this.categories = categories;
+        }
+
+        void accept(long rowNumber, CreateProductRequest request) {
+            lastRowNumber = rowNumber;
+
+            Set<ConstraintViolation<CreateProductRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                reject(rowNumber, request.getSku(), violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            if (!categories.containsKey(request.getCategoryId())) {
+                reject(rowNumber, request.getSku(), "Category not found with id: " + request.getCategoryId());
+                return;
+            }
+            // Also catches SKUs repeated within the upload
+            if (request.getSku() != null && !knownSkus.add(request.getSku())) {
+                reject(rowNumber, request.getSku(), "Product with SKU '" + request.getSku() + "' already exists");
+                return;
+            }
+
+            batch.add(new PendingRow(rowNumber, request));
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long rowNumber, String sku, String message) {
+            lastRowNumber = Math.max(lastRowNumber, rowNumber);
+            if (response.getErrors().size() < maxReportedErrors) {
+                response.getErrors().add(new ProductImportResponse.RowError(rowNumber, sku, message));
+            }
+            response.setFailedRows(response.getFailedRows() + 1);
+        }
+
+        void abort(String message) {
+            reject(lastRowNumber + 1, null, message);
+        }
+
+        ProductImportResponse finish() {
+            flush();
+            if (response.getImportedRows() > 0) {
+                // Cached catalog queries cannot see rows inserted behind Hibernate's back
+                secondLevelCache.evictCatalogQueriesAfterCommit();
+            }
+            response.setTotalRows(response.getImportedRows() + response.getFailedRows());
+            long durationNanos = System.nanoTime() - start;
+            response.setDurationMs(durationNanos / 1_000_000);
+            response.setRowsPerSecond(durationNanos > 0
+                    ? Math.round(response.getImportedRows() * 1e9 / durationNanos * 10) / 10.0
+                    : 0);
+            log.info("Product import finished: {} rows, {} imported, {} failed, {} rows/sec",
+                    response.getTotalRows(), response.getImportedRows(), response.getFailedRows(),
+                    response.getRowsPerSecond());
+            return response;
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            // Ids are taken once; sequence values are not rolled back, so a retry can reuse them
+            List<Long> ids = allocateIds(batch.size());
+            try {
+                commit(batch, ids, now);
+            } catch (DataAccessException ex) {
+                // Find the rows that actually fail instead of rejecting the whole batch with them
+                log.warn("Product import batch of {} rows failed, retrying row by row: {}", batch.size(),
+                        ex.getMessage());
+                for (int i = 0; i < batch.size(); i++) {
+                    PendingRow row = batch.get(i);
+                    try {
+                        commit(List.of(row), List.of(ids.get(i)), now);
+                    } catch (DataAccessException rowEx) {
+                        knownSkus.remove(row.request().getSku());
+                        reject(row.rowNumber(), row.request().getSku(), "Insert failed: " + rootMessage(rowEx));
+                    }
+                }
+            }
+            batch.clear();
+        }
+
+        /**
+         * Inserts the rows in one transaction, then publishes them to the indexes and caches
+         */
+        private void commit(List<PendingRow> rows, List<Long> ids, LocalDateTime now) {
+            transactionTemplate.executeWithoutResult(status -> insertBatch(rows, ids, now));
+            response.setImportedRows(response.getImportedRows() + rows.size());
+            index(rows, ids, now);
+            // Other nodes pick the new rows up through their ProductIndexRefresher
+            productCache.invalidateAll(ids);
+        }
+
+        /**
+         * Feed the committed rows to the in-memory catalog indexes without reading them back
+         */
+        private void index(List<PendingRow> rows, List<Long> ids, LocalDateTime now) {
+            for (int i = 0; i < rows.size(); i++) {
+                CreateProductRequest request = rows.get(i).request();
+                Product product = new Product(request.getName(), request.getDescription(), request.getPrice(),
+                        request.getStockQuantity() != null ? request.getStockQuantity() : 0, request.getSku(),
+                        categories.get(request.getCategoryId()), true);
+                product.setId(ids.get(i));
+                product.setCreatedAt(now);
+                product.setUpdatedAt(now);
+                productIndexes.forEach(index -> index.index(product));
+            }
+        }
+    }
+}
@@ -1,21 +1,48 @@
 package com.eticaret.backend.service.impl;
 
+import com.eticaret.backend.cache.ProductCache;
+import com.eticaret.backend.datasource.PrimaryReads;
 import com.eticaret.backend.dto.request.CreateProductRequest;
 import com.eticaret.backend.dto.request.UpdateProductRequest;
+import com.eticaret.backend.dto.response.PaginationResponse;
+import com.eticaret.backend.dto.response.ProductFacetResponse;
 import com.eticaret.backend.dto.response.ProductResponse;
+import com.eticaret.backend.dto.response.ProductSuggestionResponse;
 import com.eticaret.backend.exception.BusinessException;
+import com.eticaret.backend.exception.ValidationException;
 import com.eticaret.backend.mapper.ProductMapper;
+import com.eticaret.backend.model.CacheVersion;
 import com.eticaret.backend.model.Category;
 import com.eticaret.backend.model.Product;
+import com.eticaret.backend.repository.CacheVersionRepository;
 import com.eticaret.backend.repository.CategoryRepository;
 import com.eticaret.backend.repository.ProductRepository;
+import com.eticaret.backend.repository.projection.ProductView;
+import com.eticaret.backend.search.ProductFacetIndex;
+import com.eticaret.backend.search.ProductIndex;
+import com.eticaret.backend.search.ProductSearchIndex;
+import com.eticaret.backend.search.ProductSuggester;
 import com.eticaret.backend.service.ProductService;
+import com.eticaret.backend.stats.TrendingProducts;
+import com.eticaret.backend.util.CursorCodec;
+import com.eticaret.backend.util.ETags;
+import com.eticaret.backend.util.StringValidator;
+import com.eticaret.backend.util.TransactionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -27,16 +54,42 @@ public class ProductServiceImpl implements ProductService {
 
     private static final Logger log = LoggerFactory.getLogger(ProductServiceImpl.class);
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_TRENDING = 50;
+    private static final List<String> CATALOG_VERSIONS = List.of(CacheVersion.PRODUCTS, CacheVersion.CATEGORIES);
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final CacheVersionRepository cacheVersionRepository;
     private final ProductMapper productMapper;
+    private final ProductCache productCache;
+    private final ProductSearchIndex searchIndex;
+    private final ProductFacetIndex facetIndex;
+    private final ProductSuggester suggester;
+    private final List<ProductIndex> productIndexes;
+    private final TrendingProducts trendingProducts;
 
     public ProductServiceImpl(ProductRepository productRepository,
             CategoryRepository categoryRepository,
-            ProductMapper productMapper) {
+            CacheVersionRepository cacheVersionRepository,
+            ProductMapper productMapper,
+            ProductCache productCache,
+            ProductSearchIndex searchIndex,
+            ProductFacetIndex facetIndex,
+            ProductSuggester suggester,
+            List<ProductIndex> productIndexes,
+            TrendingProducts trendingProducts) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.cacheVersionRepository = cacheVersionRepository;
         this.productMapper = productMapper;
+        this.productCache = productCache;
+        this.searchIndex = searchIndex;
+        this.facetIndex = facetIndex;
+        this.suggester = suggester;
+        this.productIndexes = productIndexes;
+        this.trendingProducts = trendingProducts;
     }
 
     @Override
@@ -57,49 +110,215 @@ public class ProductServiceImpl implements ProductService {
         product.setCategory(category);
 
         Product savedProduct = productRepository.save(product);
+        cacheVersionRepository.bump(CacheVersion.PRODUCTS);
+        indexAfterCommit(savedProduct);
         log.info("Product created successfully with id: {}", savedProduct.getId());
 
         return productMapper.toResponse(savedProduct);
     }
 
+    /**
+     * Served from ProductCache; only a miss reaches the repository, so no
+     * transaction is opened for cache hits.
+     */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ProductResponse getProductById(Long id) {
         log.debug("Fetching product with id: {}", id);
 
-        Product product = productRepository.findById(id)
+        return productCache.get(id, this::loadProduct);
+    }
+
+    private ProductResponse loadProduct(Long id) {
+        Product product = productRepository.findWithCategoryById(id)
                 .orElseThrow(() -> new BusinessException("Product not found with id: " + id));
 
         return productMapper.toResponse(product);
     }
 
     @Override
-    public List<ProductResponse> getAllProducts() {
-        log.debug("Fetching all products");
+    public Tagged<PaginationResponse<ProductResponse>> getProductsPage(String cursor, int size,
+            Predicate<String> unchanged) {
+        log.debug("Fetching products page. Cursor: {}, size: {}", cursor, size);
+
+        return onPrimaryIfFirstPage(cursor, () -> readTagged("all:" + cursor + ":" + size, List.of(), unchanged,
+                () -> fetchPage(cursor, size,
+                        productRepository::findViewFirstPage,
+                        (position, pageable) -> productRepository.findViewPageAfter(position.createdAt(),
+                                position.id(), pageable))));
+    }
+
+    @Override
+    public Tagged<PaginationResponse<ProductResponse>> getActiveProductsPage(String cursor, int size,
+            Predicate<String> unchanged) {
+        log.debug("Fetching active products page. Cursor: {}, size: {}", cursor, size);
+
+        return onPrimaryIfFirstPage(cursor, () -> readTagged("active:" + cursor + ":" + size, List.of(), unchanged,
+                () -> fetchPage(cursor, size,
+                        productRepository::findActiveViewFirstPage,
+                        (position, pageable) -> productRepository.findActiveViewPageAfter(position.createdAt(),
+                                position.id(), pageable))));
+    }
+
+    @Override
+    public Tagged<PaginationResponse<ProductResponse>> getProductsByCategoryPage(Long categoryId, String cursor,
+            int size, Predicate<String> unchanged) {
+        log.debug("Fetching products page for category: {}. Cursor: {}, size: {}", categoryId, cursor, size);
+
+        String key = "category:" + categoryId + ":" + cursor + ":" + size;
+        return onPrimaryIfFirstPage(cursor, () -> readTagged(key, List.of(), unchanged, () -> {
+            // Validate category exists
+            if (!categoryRepository.existsById(categoryId)) {
+                throw new BusinessException("Category not found with id: " + categoryId);
+            }
+
+            return fetchPage(cursor, size,
+                    pageable -> productRepository.findViewByCategoryFirstPage(categoryId, pageable),
+                    (position, pageable) -> productRepository.findViewByCategoryPageAfter(categoryId,
+                            position.createdAt(), position.id(), pageable));
+        }));
+    }
+
+    /**
+     * Reads the product and category versions in the transaction of the read and before it, so the
+     * data is never older than its tag: every product and category write bumps one of them in its
+     * own transaction. When the caller already holds the tag, nothing else is queried.
+     */
+    private <T> Tagged<T> readTagged(String key, List<Long> ids, Predicate<String> unchanged, Supplier<T> read) {
+        Map<String, Long> versions = cacheVersionRepository.findAllById(CATALOG_VERSIONS).stream()
+                .collect(Collectors.toMap(CacheVersion::getName, CacheVersion::getVersion));
+        String etag = ETags.forCatalogRead(versions.getOrDefault(CacheVersion.PRODUCTS, 0L),
+                versions.getOrDefault(CacheVersion.CATEGORIES, 0L), key, ids);
+        return unchanged.test(etag) ? null : new Tagged<>(read.get(), etag);
+    }
+
+    /**
+     * First pages go into the query cache, so they are read from the primary: a lagging replica would
+     * store a page older than the write that just invalidated it. Query cache hits use no connection.
+     */
+    private static <T> T onPrimaryIfFirstPage(String cursor, Supplier<T> read) {
+        return cursor == null || cursor.isBlank() ? PrimaryReads.call(read) : read.get();
+    }
+
+    /**
+     * Runs a keyset query for one page. One extra row is requested to find out
+     * whether another page exists without issuing a count query.
+     */
+    private PaginationResponse<ProductResponse> fetchPage(String cursor, int size,
+            Function<Pageable, List<ProductView>> firstPage,
+            BiFunction<CursorCodec.Cursor, Pageable, List<ProductView>> pageAfter) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Pageable pageable = PageRequest.of(0, size + 1);
+        List<ProductView> rows = cursor == null || cursor.isBlank()
+                ? firstPage.apply(pageable)
+                : pageAfter.apply(CursorCodec.decode(cursor), pageable);
+
+        boolean hasNext = rows.size() > size;
+        List<ProductView> page = hasNext ? rows.subList(0, size) : rows;
 
-        return productRepository.findAll().stream()
+        String nextCursor = null;
+        if (hasNext) {
+            ProductView last = page.get(page.size() - 1);
+            nextCursor = CursorCodec.encode(last.createdAt(), last.id());
+        }
+
+        List<ProductResponse> content = page.stream()
                 .map(productMapper::toResponse)
                 .collect(Collectors.toList());
+        return PaginationResponse.ofCursor(size, content, nextCursor);
     }
 
+    /**
+     * Ranked ids come from the in-memory index, so they are part of the ETag and only the product
+     * rows are skipped on a match.
+     */
     @Override
-    public List<ProductResponse> getActiveProducts() {
-        log.debug("Fetching active products");
+    public Tagged<List<ProductResponse>> searchProducts(String query, int limit, Predicate<String> unchanged) {
+        log.debug("Searching products. Query: {}, limit: {}", query, limit);
 
-        return productRepository.findByActiveTrue().stream()
-                .map(productMapper::toResponse)
+        StringValidator.validateNotBlank(query, "Search query");
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        List<Long> rankedIds = searchIndex.search(query, limit);
+
+        // Re-check active against the database in case the index has not caught up yet
+        return readTagged("search", rankedIds, unchanged, () -> loadInOrder(rankedIds).stream()
+                .filter(ProductResponse::getActive)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Served entirely from the in-memory suggestion snapshot, without a transaction.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ProductSuggestionResponse> suggestProducts(String prefix, int limit) {
+        StringValidator.validateNotBlank(prefix, "Suggestion prefix");
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+
+        return suggester.suggest(prefix, limit);
+    }
+
+    /**
+     * Ranking comes from the in-memory trending sketches; only the products are loaded, in one query.
+     */
+    @Override
+    public List<ProductResponse> getTrendingProducts(int limit) {
+        if (limit < 1 || limit > MAX_TRENDING) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_TRENDING);
+        }
+
+        // Rank a few extra so inactive products can be dropped without shortening the list
+        List<Long> rankedIds = trendingProducts.top(limit * 2);
+        return loadInOrder(rankedIds).stream()
+                .filter(ProductResponse::getActive)
+                .limit(limit)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<ProductResponse> getProductsByCategory(Long categoryId) {
-        log.debug("Fetching products for category: {}", categoryId);
+    public ProductFacetResponse filterProducts(List<Long> categoryIds, List<String> priceBuckets, Boolean active,
+            Boolean inStock, int limit) {
+        log.debug("Filtering products. Categories: {}, prices: {}, active: {}, inStock: {}",
+                categoryIds, priceBuckets, active, inStock);
 
-        // Validate category exists
-        if (!categoryRepository.existsById(categoryId)) {
-            throw new BusinessException("Category not found with id: " + categoryId);
+        if (limit < 0 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("Limit must be between 0 and " + MAX_PAGE_SIZE);
+        }
+
+        ProductFacetIndex.FacetResult result = facetIndex.query(categoryIds, priceBuckets, active, inStock, limit);
+
+        ProductFacetResponse response = new ProductFacetResponse();
+        response.setTotalMatches(result.totalMatches());
+        response.setProducts(loadInOrder(result.productIds()));
+        response.setCategoryCounts(result.categoryCounts());
+        response.setPriceBucketCounts(result.priceBucketCounts());
+        response.setActiveCounts(result.activeCounts());
+        response.setInStockCounts(result.inStockCounts());
+        return response;
+    }
+
+    /**
+     * Load products by id with one query, keeping the order of the given ids
+     */
+    private List<ProductResponse> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
 
-        return productRepository.findByCategoryId(categoryId).stream()
+        Map<Long, ProductView> products = productRepository.findViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProductView::id, product -> product));
+
+        return ids.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
                 .map(productMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -128,6 +347,9 @@ public class ProductServiceImpl implements ProductService {
 
         productMapper.updateEntityFromRequest(request, product);
         Product updatedProduct = productRepository.save(product);
+        cacheVersionRepository.bump(CacheVersion.PRODUCTS);
+        productCache.invalidate(id);
+        indexAfterCommit(updatedProduct);
 
         log.info("Product updated successfully with id: {}", id);
         return productMapper.toResponse(updatedProduct);
@@ -143,6 +365,9 @@ public class ProductServiceImpl implements ProductService {
 
         product.setActive(false);
         productRepository.save(product);
+        cacheVersionRepository.bump(CacheVersion.PRODUCTS);
+        productCache.invalidate(id);
+        indexAfterCommit(product);
 
         log.info("Product soft deleted successfully with id: {}", id);
     }
@@ -157,6 +382,9 @@ public class ProductServiceImpl implements ProductService {
         }
 
         productRepository.deleteById(id);
+        cacheVersionRepository.bump(CacheVersion.PRODUCTS);
+        productCache.invalidate(id);
+        removeFromIndexesAfterCommit(id);
         log.info("Product hard deleted successfully with id: {}", id);
     }
 
@@ -164,4 +392,12 @@ public class ProductServiceImpl implements ProductService {
     public boolean existsBySku(String sku) {
         return productRepository.existsBySku(sku);
     }
+
+    private void indexAfterCommit(Product product) {
+        TransactionUtils.runAfterCommit(() -> productIndexes.forEach(index -> index.index(product)));
+    }
+
+    private void removeFromIndexesAfterCommit(Long id) {
+        TransactionUtils.runAfterCommit(() -> productIndexes.forEach(index -> index.remove(id)));
+    }
 }
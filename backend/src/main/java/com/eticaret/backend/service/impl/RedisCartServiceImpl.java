@@ -0,0 +1,194 @@
+package com.eticaret.backend.service.impl;
+
+import com.eticaret.backend.cart.RedisCartStore;
+import com.eticaret.backend.dto.request.AddToCartRequest;
+import com.eticaret.backend.dto.request.BatchAddToCartRequest;
+import com.eticaret.backend.dto.response.BatchAddToCartResponse;
+import com.eticaret.backend.dto.response.CartItemResponse;
+import com.eticaret.backend.dto.response.CartSummaryResponse;
+import com.eticaret.backend.dto.response.ProductResponse;
+import com.eticaret.backend.exception.BusinessException;
+import com.eticaret.backend.mapper.CartItemMapper;
+import com.eticaret.backend.service.CartService;
+import com.eticaret.backend.service.ProductService;
+import com.eticaret.backend.stats.TrendingProducts;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of CartService storing carts in Redis (cart.storage=redis); see RedisCartStore.
+ * Products come from the product cache, so a warm cart change runs no SQL. Cart item ids are
+ * cart_items ids, as in the database mode: a line gets its row's id when it is added, before the
+ * row is written. Stock is checked against the cached product here and again, under
+ * row locks, at checkout.
+ */
+@Service
+@ConditionalOnProperty(name = "cart.storage", havingValue = "redis")
+public class RedisCartServiceImpl implements CartService {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCartServiceImpl.class);
+
+    private final RedisCartStore cartStore;
+    private final ProductService productService;
+    private final CartItemMapper cartItemMapper;
+    private final TrendingProducts trendingProducts;
+    private final Validator validator;
+    private final int maxBatchItems;
+
+    public RedisCartServiceImpl(RedisCartStore cartStore,
+            ProductService productService,
+            CartItemMapper cartItemMapper,
+            TrendingProducts trendingProducts,
+            Validator validator,
+            @Value("${cart.batch.max-items:100}") int maxBatchItems) {
+        this.cartStore = cartStore;
+        this.productService = productService;
+        this.cartItemMapper = cartItemMapper;
+        this.trendingProducts = trendingProducts;
+        this.validator = validator;
+        this.maxBatchItems = maxBatchItems;
+    }
+
+    @Override
+    public CartItemResponse addToCart(Long userId, AddToCartRequest request) {
+        log.info("Adding product {} to cart for user {}", request.getProductId(), userId);
+
+        ProductResponse product = productService.getProductById(request.getProductId());
+
+        // Check if product is active
+        if (!product.getActive()) {
+            throw new BusinessException("Product is not available");
+        }
+
+        int inCart = cartStore.line(userId, product.getId())
+                .map(RedisCartStore.Line::quantity)
+                .orElse(0);
+        if (product.getStockQuantity() < inCart + request.getQuantity()) {
+            throw new BusinessException("Insufficient stock. Available: " + product.getStockQuantity());
+        }
+
+        RedisCartStore.Line line = cartStore.add(userId, product.getId(), request.getQuantity(), product.getPrice());
+        trendingProducts.recordCartAdd(product.getId());
+
+        return cartItemMapper.toResponse(line, product);
+    }
+
+    /**
+     * Products come from the product cache; every accepted item is written in one Redis round trip.
+     */
+    @Override
+    public BatchAddToCartResponse addToCartBatch(Long userId, BatchAddToCartRequest request) {
+        CartBatch batch = CartBatch.of(request, validator, maxBatchItems);
+        log.info("Adding {} products to cart for user {}", request.getItems().size(), userId);
+
+        Map<Long, Integer> inCart = cartStore.lines(userId).stream()
+                .collect(Collectors.toMap(RedisCartStore.Line::productId, RedisCartStore.Line::quantity));
+
+        List<Integer> accepted = new ArrayList<>();
+        List<ProductResponse> products = new ArrayList<>();
+        List<RedisCartStore.Addition> additions = new ArrayList<>();
+        for (int index : batch.valid()) {
+            AddToCartRequest item = batch.item(index);
+            ProductResponse product = findProduct(item.getProductId());
+            int quantity = inCart.getOrDefault(item.getProductId(), 0) + item.getQuantity();
+            if (batch.rejected(index, product != null, product != null ? product.getActive() : null,
+                    product != null ? product.getStockQuantity() : null, quantity)) {
+                continue;
+            }
+            accepted.add(index);
+            products.add(product);
+            additions.add(new RedisCartStore.Addition(product.getId(), item.getQuantity(), product.getPrice()));
+        }
+
+        if (!additions.isEmpty()) {
+            List<RedisCartStore.Line> lines = cartStore.addAll(userId, additions);
+            for (int i = 0; i < lines.size(); i++) {
+                batch.added(accepted.get(i), cartItemMapper.toResponse(lines.get(i), products.get(i)));
+                trendingProducts.recordCartAdd(lines.get(i).productId());
+            }
+        }
+
+        BatchAddToCartResponse response = batch.toResponse();
+        log.info("Batch add to cart finished: {} added, {} failed", response.getAdded(), response.getFailed());
+        return response;
+    }
+
+    /**
+     * The product, or null when it does not exist
+     */
+    private ProductResponse findProduct(Long productId) {
+        try {
+            return productService.getProductById(productId);
+        } catch (BusinessException ex) {
+            return null;
+        }
+    }
+
+    @Override
+    public void removeFromCart(Long userId, Long cartItemId) {
+        log.info("Removing cart item {} for user {}", cartItemId, userId);
+
+        RedisCartStore.Line line = cartStore.lineById(userId, cartItemId)
+                .orElseThrow(() -> new BusinessException("Cart item not found with id: " + cartItemId));
+        if (!cartStore.remove(userId, line)) {
+            throw new BusinessException("Cart item not found with id: " + cartItemId);
+        }
+    }
+
+    @Override
+    public CartItemResponse updateQuantity(Long userId, Long cartItemId, Integer quantity) {
+        log.info("Updating cart item {} quantity to {} for user {}", cartItemId, quantity, userId);
+
+        if (quantity < 1) {
+            throw new BusinessException("Quantity must be at least 1");
+        }
+
+        RedisCartStore.Line line = cartStore.lineById(userId, cartItemId)
+                .orElseThrow(() -> new BusinessException("Cart item not found with id: " + cartItemId));
+        ProductResponse product = productService.getProductById(line.productId());
+
+        // Check stock availability
+        if (product.getStockQuantity() < quantity) {
+            throw new BusinessException("Insufficient stock. Available: " + product.getStockQuantity());
+        }
+
+        if (!cartStore.setQuantity(userId, line, quantity)) {
+            throw new BusinessException("Cart item not found with id: " + cartItemId);
+        }
+        return cartItemMapper.toResponse(new RedisCartStore.Line(line.id(), line.productId(), quantity, line.price()),
+                product);
+    }
+
+    @Override
+    public List<CartItemResponse> getCartItems(Long userId) {
+        log.debug("Fetching cart items for user {}", userId);
+
+        return cartStore.lines(userId).stream()
+                .map(line -> cartItemMapper.toResponse(line, productService.getProductById(line.productId())))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void clearCart(Long userId) {
+        log.info("Clearing cart for user {}", userId);
+
+        cartStore.clear(userId);
+    }
+
+    @Override
+    public CartSummaryResponse getCartSummary(Long userId) {
+        log.debug("Fetching cart summary for user {}", userId);
+
+        RedisCartStore.Summary summary = cartStore.summary(userId);
+        return new CartSummaryResponse(userId, summary.itemCount(), summary.totalMinor());
+    }
+}
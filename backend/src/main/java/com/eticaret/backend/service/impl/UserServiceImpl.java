@@ -1,14 +1,17 @@
 package com.eticaret.backend.service.impl;
 
+import com.eticaret.backend.cache.SingleFlight;
 import com.eticaret.backend.dto.response.UserResponse;
 import com.eticaret.backend.exception.BusinessException;
 import com.eticaret.backend.mapper.UserMapper;
 import com.eticaret.backend.model.User;
 import com.eticaret.backend.repository.UserRepository;
 import com.eticaret.backend.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -25,16 +28,27 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final SingleFlight<Long, UserResponse> userLoads;
 
-    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper) {
+    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
+        this.userLoads = new SingleFlight<>("user", meterRegistry);
     }
 
+    /**
+     * Concurrent requests for the same user share one load. Runs without a surrounding
+     * transaction so waiting callers do not hold a connection.
+     */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public UserResponse getUserById(Long id) {
         log.debug("Fetching user with id: {}", id);
 
+        return userLoads.load(id, this::loadUser);
+    }
+
+    private UserResponse loadUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new BusinessException("User not found with id: " + id));
 
@@ -55,7 +69,7 @@ public class UserServiceImpl implements UserService {
     public List<UserResponse> getAllUsers() {
         log.debug("Fetching all users");
 
-        return userRepository.findAll().stream()
+        return userRepository.findAllViews().stream()
                 .map(userMapper::toResponse)
                 .collect(Collectors.toList());
     }
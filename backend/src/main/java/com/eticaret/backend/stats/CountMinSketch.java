@@ -0,0 +1,63 @@
+package com.eticaret.backend.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min sketch over long keys: a fixed depth x width table of counters, one hashed column per
+ * row. Estimates never undercount; they overcount by the collisions in the least-collided row.
+ * Thread-safe: counters are updated with atomic adds.
+ */
+final class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final int mask;
+    private final AtomicLongArray counts;
+
+    CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1) {
+            throw new IllegalArgumentException("Sketch depth and width must be positive");
+        }
+        this.depth = depth;
+        // Power of two, so the column is a mask instead of a modulo
+        this.width = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.mask = this.width - 1;
+        this.counts = new AtomicLongArray(depth * this.width);
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    void add(long key, long count) {
+        for (int row = 0; row < depth; row++) {
+            counts.addAndGet(index(row, key), count);
+        }
+    }
+
+    /**
+     * Counter for the key in one row; the key's estimate is the minimum over rows
+     */
+    long count(int row, long key) {
+        return counts.get(index(row, key));
+    }
+
+    void clear() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    private int index(int row, long key) {
+        return row * width + (int) (mix(key + (row + 1) * 0x9E3779B97F4A7C15L) & mask);
+    }
+
+    /**
+     * SplitMix64 finalizer; spreads sequential ids over all columns
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
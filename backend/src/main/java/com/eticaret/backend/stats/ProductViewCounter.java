@@ -0,0 +1,135 @@
+package com.eticaret.backend.stats;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts product page views in memory and writes them to product_stats in batches.
+ * Each product has a LongAdder, so request threads viewing the same product increment
+ * separate cells instead of contending on one value. The scheduler drains the counters every few
+ * seconds into one MERGE per batch. Views that fail to write are added back and retried on the
+ * next flush; views still in memory when the process dies are lost.
+ */
+@Component
+public class ProductViewCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductViewCounter.class);
+
+    // Views of deleted products are dropped by the join rather than failing the foreign key
+    private static final String UPSERT_SQL = """
+            MERGE INTO product_stats s
+            USING (SELECT v.product_id, v.views
+                   FROM (VALUES %s) AS v(product_id, views)
+                   JOIN products p ON p.id = v.product_id) src
+            ON s.product_id = src.product_id
+            WHEN MATCHED THEN UPDATE SET view_count = s.view_count + src.views, updated_at = LOCALTIMESTAMP
+            WHEN NOT MATCHED THEN INSERT (product_id, view_count, updated_at)
+                VALUES (src.product_id, src.views, LOCALTIMESTAMP)
+            """;
+
+    // Entries are never removed: a thread may still hold an adder it looked up before the removal,
+    // and its increment would be lost. The map is bounded by the number of products.
+    private final ConcurrentMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final Counter flushedViews;
+    private final Timer flushTimer;
+
+    public ProductViewCounter(JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${stats.views.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.flushedViews = Counter.builder("product.views.flushed").register(meterRegistry);
+        this.flushTimer = Timer.builder("product.views.flush").register(meterRegistry);
+        Gauge.builder("product.views.pending", this, ProductViewCounter::pendingViews).register(meterRegistry);
+    }
+
+    /**
+     * Count one view of the product; never touches the database
+     */
+    public void record(long productId) {
+        LongAdder views = pending.get(productId);
+        if (views == null) {
+            views = pending.computeIfAbsent(productId, id -> new LongAdder());
+        }
+        views.increment();
+    }
+
+    /**
+     * Write the views counted since the last flush. Also runs on shutdown.
+     */
+    @Scheduled(fixedDelayString = "${stats.views.flush-interval-ms:5000}")
+    @PreDestroy
+    public synchronized void flush() {
+        // Subtract exactly what was read, so increments racing with the drain stay for the next flush
+        List<long[]> rows = new ArrayList<>();
+        pending.forEach((productId, views) -> {
+            long count = views.sum();
+            if (count != 0) {
+                views.add(-count);
+                rows.add(new long[] { productId, count });
+            }
+        });
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        int written = 0;
+        Timer.Sample sample = Timer.start();
+        try {
+            while (written < rows.size()) {
+                List<long[]> batch = rows.subList(written, Math.min(written + batchSize, rows.size()));
+                upsert(batch);
+                written += batch.size();
+            }
+        } catch (RuntimeException ex) {
+            for (long[] row : rows.subList(written, rows.size())) {
+                pending.get(row[0]).add(row[1]);
+            }
+            log.warn("Failed to flush product views, {} products kept for the next flush",
+                    rows.size() - written, ex);
+        } finally {
+            sample.stop(flushTimer);
+            flushedViews.increment(rows.subList(0, written).stream().mapToLong(row -> row[1]).sum());
+        }
+        log.debug("Flushed views of {} products", written);
+    }
+
+    private void upsert(List<long[]> batch) {
+        String sql = UPSERT_SQL.formatted(String.join(", ", Collections.nCopies(batch.size(), "(?, ?)")));
+        Object[] args = new Object[batch.size() * 2];
+        for (int i = 0; i < batch.size(); i++) {
+            args[i * 2] = batch.get(i)[0];
+            args[i * 2 + 1] = batch.get(i)[1];
+        }
+        try {
+            jdbcTemplate.update(sql, args);
+        } catch (DuplicateKeyException ex) {
+            // Another node inserted one of these products first; the rows exist now, so this updates
+            jdbcTemplate.update(sql, args);
+        }
+    }
+
+    private double pendingViews() {
+        return pending.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+}
@@ -0,0 +1,157 @@
+package com.eticaret.backend.stats;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Trending products over a sliding window of recent cart adds and orders, in fixed memory.
+ * Activity is counted in a ring of Count-Min sketches, one per time bucket; the window is the sum
+ * of the ring, and rotating clears the oldest bucket. The top K candidates are kept in a min-heap.
+ * Candidate scores in the heap are lower bounds, refreshed from the sketches whenever a
+ * candidate is about to be evicted and when ranking. Memory is buckets x depth x width counters
+ * plus K candidates, however many products or events there are.
+ */
+@Component
+public class TrendingProducts {
+
+    // A purchase says more about demand than a cart add
+    static final long CART_ADD_WEIGHT = 1;
+    static final long ORDER_WEIGHT = 3;
+
+    private final CountMinSketch[] buckets;
+    private final int topK;
+    private volatile int current;
+
+    // Guarded by this; members mirrors the heap's product ids for lock-free membership checks
+    private final PriorityQueue<Candidate> heap = new PriorityQueue<>(Comparator.comparingLong(Candidate::score));
+    private final Set<Long> members = ConcurrentHashMap.newKeySet();
+    private volatile long admissionThreshold;
+
+    public TrendingProducts(@Value("${stats.trending.buckets:12}") int buckets,
+            @Value("${stats.trending.depth:4}") int depth,
+            @Value("${stats.trending.width:2048}") int width,
+            @Value("${stats.trending.top-k:100}") int topK) {
+        if (buckets < 1 || topK < 1) {
+            throw new IllegalArgumentException("Trending buckets and top-k must be positive");
+        }
+        this.buckets = new CountMinSketch[buckets];
+        for (int i = 0; i < buckets; i++) {
+            this.buckets[i] = new CountMinSketch(depth, width);
+        }
+        this.topK = topK;
+    }
+
+    public void recordCartAdd(long productId) {
+        record(productId, CART_ADD_WEIGHT);
+    }
+
+    public void recordOrder(Collection<Long> productIds) {
+        for (Long productId : productIds) {
+            record(productId, ORDER_WEIGHT);
+        }
+    }
+
+    private void record(long productId, long weight) {
+        buckets[current].add(productId, weight);
+        // Candidates are re-scored when ranked, so only newcomers need the lock
+        if (members.contains(productId)) {
+            return;
+        }
+        long score = estimate(productId);
+        if (score > admissionThreshold) {
+            admit(productId, score);
+        }
+    }
+
+    private synchronized void admit(long productId, long score) {
+        if (members.contains(productId)) {
+            return;
+        }
+        while (heap.size() >= topK) {
+            Candidate weakest = heap.poll();
+            long fresh = estimate(weakest.productId());
+            if (fresh > weakest.score()) {
+                // Stale lower bound; put it back with its real score and look again
+                heap.add(new Candidate(weakest.productId(), fresh));
+                continue;
+            }
+            if (fresh >= score) {
+                heap.add(weakest);
+                admissionThreshold = weakest.score();
+                return;
+            }
+            members.remove(weakest.productId());
+        }
+        heap.add(new Candidate(productId, score));
+        members.add(productId);
+        admissionThreshold = heap.size() < topK ? 0 : heap.peek().score();
+    }
+
+    /**
+     * Product ids with the most activity in the window, highest first
+     */
+    public synchronized List<Long> top(int limit) {
+        List<Candidate> ranked = new ArrayList<>(heap.size());
+        for (Candidate candidate : heap) {
+            long score = estimate(candidate.productId());
+            if (score > 0) {
+                ranked.add(new Candidate(candidate.productId(), score));
+            }
+        }
+        ranked.sort(Comparator.comparingLong(Candidate::score).reversed()
+                .thenComparingLong(Candidate::productId));
+        return ranked.stream().limit(limit).map(Candidate::productId).toList();
+    }
+
+    /**
+     * Slide the window by one bucket: the oldest bucket is cleared and becomes the current one
+     */
+    @Scheduled(fixedRateString = "${stats.trending.bucket-interval-ms:300000}",
+            initialDelayString = "${stats.trending.bucket-interval-ms:300000}")
+    public synchronized void rotate() {
+        int next = (current + 1) % buckets.length;
+        buckets[next].clear();
+        current = next;
+
+        // Scores only drop when the window slides; re-score so the heap order holds
+        List<Candidate> rescored = new ArrayList<>(heap.size());
+        for (Candidate candidate : heap) {
+            long score = estimate(candidate.productId());
+            if (score > 0) {
+                rescored.add(new Candidate(candidate.productId(), score));
+            } else {
+                members.remove(candidate.productId());
+            }
+        }
+        heap.clear();
+        heap.addAll(rescored);
+        admissionThreshold = heap.size() < topK ? 0 : heap.peek().score();
+    }
+
+    /**
+     * Window count: per row, the sum over buckets; then the minimum over rows
+     */
+    long estimate(long productId) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < buckets[0].depth(); row++) {
+            long sum = 0;
+            for (CountMinSketch bucket : buckets) {
+                sum += bucket.count(row, productId);
+            }
+            min = Math.min(min, sum);
+        }
+        return min;
+    }
+
+    private record Candidate(long productId, long score) {
+    }
+}
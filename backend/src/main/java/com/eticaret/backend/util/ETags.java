@@ -0,0 +1,124 @@
+package com.eticaret.backend.util;
+
+import com.eticaret.backend.dto.response.CategoryResponse;
+import com.eticaret.backend.dto.response.ProductResponse;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+
+/**
+ * Utility class for building strong ETags from entity ids and updatedAt timestamps.
+ * Tags are computed from the data the response is built from, never from the serialized
+ * body, so a matching If-None-Match can be answered before any serialization happens.
+ */
+public final class ETags {
+
+    private ETags() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * ETag of a single product; includes the embedded category, since it is part of the response
+     */
+    public static String forProduct(ProductResponse product) {
+        return builder("p").add(product).build();
+    }
+
+    /**
+     * ETag of a catalog read, derived before it runs: from the product and category data versions,
+     * the request key (endpoint and parameters) and any ids already chosen, such as search ranks
+     */
+    public static String forCatalogRead(long productsVersion, long categoriesVersion, String key,
+            Collection<Long> ids) {
+        Builder builder = builder("pv").add(productsVersion).add(categoriesVersion).add(key);
+        ids.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * ETag of an ordered list of categories
+     */
+    public static String forCategories(Collection<CategoryResponse> categories) {
+        Builder builder = builder("cl");
+        categories.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * ETag of a single category
+     */
+    public static String forCategory(CategoryResponse category) {
+        return builder("c").add(category).build();
+    }
+
+    private static Builder builder(String kind) {
+        return new Builder(kind);
+    }
+
+    /**
+     * Folds ids and timestamps into a 64-bit FNV-1a hash.
+     */
+    private static final class Builder {
+
+        private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+        private static final long FNV_PRIME = 0x100000001b3L;
+        private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+        private final String kind;
+        private long hash = FNV_OFFSET;
+
+        Builder(String kind) {
+            this.kind = kind;
+        }
+
+        Builder add(ProductResponse product) {
+            mix(product.getId());
+            mix(product.getUpdatedAt());
+            if (product.getCategory() != null) {
+                add(product.getCategory());
+            }
+            return this;
+        }
+
+        Builder add(CategoryResponse category) {
+            mix(category.getId());
+            mix(category.getUpdatedAt());
+            return this;
+        }
+
+        Builder add(Long value) {
+            mix(value);
+            return this;
+        }
+
+        Builder add(String value) {
+            if (value != null) {
+                value.chars().forEach(this::mixByte);
+            }
+            mixByte(0);
+            return this;
+        }
+
+        private void mix(LocalDateTime timestamp) {
+            // Microseconds, the precision the database keeps
+            mix(timestamp == null ? Long.MIN_VALUE : ChronoUnit.MICROS.between(EPOCH, timestamp));
+        }
+
+        private void mix(Long value) {
+            long bits = value == null ? Long.MIN_VALUE : value;
+            for (int i = 0; i < Long.BYTES; i++) {
+                mixByte((int) (bits >>> (i * 8)));
+            }
+        }
+
+        private void mixByte(int value) {
+            hash ^= value & 0xff;
+            hash *= FNV_PRIME;
+        }
+
+        String build() {
+            return "\"" + kind + "-" + Long.toHexString(hash) + "\"";
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.eticaret.backend.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Utility class for converting amounts to and from minor currency units (cents).
+ */
+public final class MoneyUtils {
+
+    /**
+     * Decimal places of a major unit; prices are stored as NUMERIC(10,2)
+     */
+    public static final int MINOR_UNIT_SCALE = 2;
+
+    private MoneyUtils() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(MINOR_UNIT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromMinorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, MINOR_UNIT_SCALE);
+    }
+}
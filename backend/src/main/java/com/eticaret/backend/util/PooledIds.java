@@ -0,0 +1,30 @@
+package com.eticaret.backend.util;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class for taking ids from the pooled id sequences without going through JPA.
+ */
+public final class PooledIds {
+
+    private PooledIds() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Takes one whole block from the sequence the way Hibernate's pooled optimizer does: nextval is
+     * the top of a block of allocationSize ids, so these ids and JPA-created ones never collide.
+     */
+    public static List<Long> nextBlock(JdbcTemplate jdbcTemplate, String sequence, int allocationSize) {
+        long top = jdbcTemplate.queryForObject("SELECT nextval('" + sequence + "')", Long.class);
+        List<Long> ids = new ArrayList<>(allocationSize);
+        // A fresh sequence starts at 1, below a full block
+        for (long id = Math.max(1, top - allocationSize + 1); id <= top; id++) {
+            ids.add(id);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,25 @@
+-- Entities moved from identity columns to pooled <table>_seq sequences (see PooledSequenceGenerator).
+-- Tables that do not exist yet are skipped; Hibernate creates their sequences along with them.
+DO $$
+DECLARE
+    table_name TEXT;
+    max_id     BIGINT;
+BEGIN
+    FOREACH table_name IN ARRAY ARRAY['users', 'categories', 'products', 'carts', 'cart_items',
+                                      'orders', 'order_items', 'payments']
+    LOOP
+        IF to_regclass(table_name) IS NOT NULL THEN
+            -- Ids now always come from the sequence
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', table_name);
+
+            EXECUTE format('SELECT COALESCE(MAX(id), 0) FROM %I', table_name) INTO max_id;
+            EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY ${id_allocation_size}',
+                           table_name || '_seq');
+            EXECUTE format('ALTER SEQUENCE %I INCREMENT BY ${id_allocation_size}', table_name || '_seq');
+
+            -- With the pooled optimizer nextval is the top of the next id block,
+            -- so the first block handed out starts right after the current maximum id
+            PERFORM setval(table_name || '_seq', max_id + ${id_allocation_size}, false);
+        END IF;
+    END LOOP;
+END $$;
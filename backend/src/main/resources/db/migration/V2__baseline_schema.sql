@@ -0,0 +1,106 @@
+-- Schema previously created by Hibernate (ddl-auto: update); from here on migrations own it.
+-- Databases that already have these objects keep them unchanged; fresh databases get them here.
+-- Id sequences follow PooledSequenceGenerator: <table>_seq, incremented by the id allocation size.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY ${id_allocation_size};
+CREATE SEQUENCE IF NOT EXISTS categories_seq INCREMENT BY ${id_allocation_size};
+CREATE SEQUENCE IF NOT EXISTS products_seq INCREMENT BY ${id_allocation_size};
+CREATE SEQUENCE IF NOT EXISTS carts_seq INCREMENT BY ${id_allocation_size};
+CREATE SEQUENCE IF NOT EXISTS cart_items_seq INCREMENT BY ${id_allocation_size};
+CREATE SEQUENCE IF NOT EXISTS orders_seq INCREMENT BY ${id_allocation_size};
+CREATE SEQUENCE IF NOT EXISTS order_items_seq INCREMENT BY ${id_allocation_size};
+CREATE SEQUENCE IF NOT EXISTS payments_seq INCREMENT BY ${id_allocation_size};
+
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT       NOT NULL PRIMARY KEY,
+    first_name VARCHAR(50)  NOT NULL,
+    last_name  VARCHAR(50)  NOT NULL,
+    email      VARCHAR(100) NOT NULL UNIQUE,
+    password   VARCHAR(255) NOT NULL,
+    phone      VARCHAR(20),
+    active     BOOLEAN      NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS categories (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    name        VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    active      BOOLEAN      NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS products (
+    id             BIGINT        NOT NULL PRIMARY KEY,
+    name           VARCHAR(200)  NOT NULL,
+    description    VARCHAR(1000),
+    price          NUMERIC(10,2) NOT NULL,
+    stock_quantity INTEGER       NOT NULL CHECK (stock_quantity >= 0),
+    sku            VARCHAR(100),
+    category_id    BIGINT CONSTRAINT fk_products_category REFERENCES categories,
+    active         BOOLEAN       NOT NULL,
+    created_at     TIMESTAMP(6)  NOT NULL,
+    updated_at     TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS carts (
+    id           BIGINT        NOT NULL PRIMARY KEY,
+    user_id      BIGINT        NOT NULL CONSTRAINT fk_carts_user REFERENCES users,
+    total_amount NUMERIC(10,2) NOT NULL,
+    active       BOOLEAN       NOT NULL,
+    created_at   TIMESTAMP(6)  NOT NULL,
+    updated_at   TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS cart_items (
+    id         BIGINT        NOT NULL PRIMARY KEY,
+    cart_id    BIGINT CONSTRAINT fk_cart_items_cart REFERENCES carts,
+    user_id    BIGINT        NOT NULL CONSTRAINT fk_cart_items_user REFERENCES users,
+    product_id BIGINT        NOT NULL CONSTRAINT fk_cart_items_product REFERENCES products,
+    quantity   INTEGER       NOT NULL CHECK (quantity >= 1),
+    price      NUMERIC(10,2) NOT NULL,
+    created_at TIMESTAMP(6)  NOT NULL,
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS orders (
+    id               BIGINT        NOT NULL PRIMARY KEY,
+    user_id          BIGINT        NOT NULL CONSTRAINT fk_orders_user REFERENCES users,
+    total_amount     NUMERIC(10,2) NOT NULL,
+    status           VARCHAR(20)   NOT NULL
+        CHECK (status IN ('PENDING', 'CONFIRMED', 'SHIPPED', 'DELIVERED', 'CANCELLED')),
+    shipping_address VARCHAR(500),
+    created_at       TIMESTAMP(6)  NOT NULL,
+    updated_at       TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS order_items (
+    id          BIGINT        NOT NULL PRIMARY KEY,
+    order_id    BIGINT        NOT NULL CONSTRAINT fk_order_items_order REFERENCES orders,
+    product_id  BIGINT        NOT NULL CONSTRAINT fk_order_items_product REFERENCES products,
+    quantity    INTEGER       NOT NULL CHECK (quantity >= 1),
+    price       NUMERIC(10,2) NOT NULL,
+    total_price NUMERIC(10,2) NOT NULL,
+    created_at  TIMESTAMP(6)  NOT NULL,
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS payments (
+    id             BIGINT        NOT NULL PRIMARY KEY,
+    order_id       BIGINT        NOT NULL CONSTRAINT fk_payments_order REFERENCES orders,
+    user_id        BIGINT        NOT NULL CONSTRAINT fk_payments_user REFERENCES users,
+    amount         NUMERIC(10,2) NOT NULL,
+    payment_method VARCHAR(20)   NOT NULL
+        CHECK (payment_method IN ('CREDIT_CARD', 'DEBIT_CARD', 'PAYPAL', 'BANK_TRANSFER', 'CASH_ON_DELIVERY')),
+    status         VARCHAR(20)   NOT NULL
+        CHECK (status IN ('PENDING', 'PROCESSING', 'COMPLETED', 'FAILED', 'REFUNDED', 'CANCELLED')),
+    transaction_id VARCHAR(100) UNIQUE,
+    payment_date   TIMESTAMP(6),
+    created_at     TIMESTAMP(6)  NOT NULL,
+    updated_at     TIMESTAMP(6)
+);
+
+-- Keyset pagination order (also declared on Product)
+CREATE INDEX IF NOT EXISTS idx_products_created_at_id ON products (created_at, id);
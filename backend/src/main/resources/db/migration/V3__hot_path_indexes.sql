@@ -0,0 +1,31 @@
+-- Indexes for the lookups that ran as sequential scans under ddl-auto.
+
+-- A cart holds one line per product. Older data may have duplicates, created by concurrent adds:
+-- fold each group into its oldest row before the constraint goes on.
+UPDATE cart_items ci
+SET quantity = dup.total_quantity
+FROM (SELECT MIN(id) AS keep_id, SUM(quantity) AS total_quantity
+      FROM cart_items
+      GROUP BY user_id, product_id
+      HAVING COUNT(*) > 1) dup
+WHERE ci.id = dup.keep_id;
+
+DELETE FROM cart_items ci
+USING cart_items kept
+WHERE kept.user_id = ci.user_id
+  AND kept.product_id = ci.product_id
+  AND kept.id < ci.id;
+
+-- Also serves cart lookups by user alone (leading column)
+ALTER TABLE cart_items ADD CONSTRAINT uk_cart_items_user_product UNIQUE (user_id, product_id);
+
+CREATE INDEX IF NOT EXISTS idx_orders_user_id ON orders (user_id);
+CREATE INDEX IF NOT EXISTS idx_orders_status ON orders (status);
+CREATE INDEX IF NOT EXISTS idx_order_items_order_id ON order_items (order_id);
+
+-- Category filter plus the keyset order of the category pages
+CREATE INDEX IF NOT EXISTS idx_products_category_created_at_id ON products (category_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_products_sku ON products (sku);
+
+-- Active product pages, the typeahead snapshot and the active list only read active rows
+CREATE INDEX IF NOT EXISTS idx_products_active_created_at_id ON products (created_at, id) WHERE active = true;
@@ -0,0 +1,8 @@
+-- Per-product counters written in batches by ProductViewCounter; one row per product that has been viewed.
+CREATE TABLE IF NOT EXISTS product_stats (
+    product_id BIGINT    NOT NULL,
+    view_count BIGINT    NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_product_stats PRIMARY KEY (product_id),
+    CONSTRAINT fk_product_stats_product FOREIGN KEY (product_id) REFERENCES products (id) ON DELETE CASCADE
+);
@@ -0,0 +1,16 @@
+-- Per-user cart totals kept up to date on every cart change, so the summary never reads cart_items.
+-- total_minor is the sum of price * quantity in minor currency units (cents).
+CREATE TABLE IF NOT EXISTS cart_summaries (
+    user_id     BIGINT    NOT NULL,
+    item_count  INTEGER   NOT NULL DEFAULT 0,
+    total_minor BIGINT    NOT NULL DEFAULT 0,
+    updated_at  TIMESTAMP NOT NULL,
+    CONSTRAINT pk_cart_summaries PRIMARY KEY (user_id),
+    CONSTRAINT fk_cart_summaries_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+-- Existing carts
+INSERT INTO cart_summaries (user_id, item_count, total_minor, updated_at)
+SELECT user_id, SUM(quantity), SUM(CAST(ROUND(price * 100) AS BIGINT) * quantity), LOCALTIMESTAMP
+FROM cart_items
+GROUP BY user_id;
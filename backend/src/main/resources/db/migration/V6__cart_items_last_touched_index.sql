@@ -0,0 +1,2 @@
+-- Serves AbandonedCartSweeper, which claims the least recently touched lines first.
+CREATE INDEX IF NOT EXISTS idx_cart_items_last_touched ON cart_items ((COALESCE(updated_at, created_at)));
@@ -0,0 +1,11 @@
+-- Versions of in-memory snapshots (see CategorySnapshotCache), bumped in the same transaction as
+-- the write they describe, so every node derives the same version from the same data.
+CREATE TABLE IF NOT EXISTS cache_versions (
+    name    VARCHAR(50) NOT NULL,
+    version BIGINT      NOT NULL,
+    CONSTRAINT pk_cache_versions PRIMARY KEY (name)
+);
+
+-- Start above the per-node counters used before, so versions seen by clients keep increasing
+INSERT INTO cache_versions (name, version)
+VALUES ('categories', CAST(EXTRACT(EPOCH FROM now()) * 1000 AS BIGINT));
@@ -0,0 +1,5 @@
+-- Version of the product rows, bumped in the transaction of every product write; catalog listing
+-- ETags are derived from it (and the categories version) before any product is queried. Seeded so
+-- concurrent first bumps update one row instead of racing to insert it.
+INSERT INTO cache_versions (name, version)
+VALUES ('products', 1);
@@ -0,0 +1,83 @@
+package com.eticaret.backend.cache;
+
+import com.eticaret.backend.mapper.CategoryMapper;
+import com.eticaret.backend.mapper.CategoryMapperImpl;
+import com.eticaret.backend.model.Category;
+import com.eticaret.backend.repository.CacheVersionRepository;
+import com.eticaret.backend.repository.CategoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Snapshot versions come from the database, so separate nodes agree on them. Runs without a test
+ * transaction, so writes commit and after-commit rebuilds run like they would in production.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CategoryMapperImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CategorySnapshotCacheTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CacheVersionRepository cacheVersionRepository;
+
+    @Autowired
+    private CategoryMapper categoryMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        categoryRepository.deleteAll();
+        cacheVersionRepository.deleteAll();
+    }
+
+    private CategorySnapshotCache node() {
+        return new CategorySnapshotCache(categoryRepository, cacheVersionRepository, categoryMapper,
+                mock(CacheInvalidationBus.class), transactionManager, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void nodesAgreeOnTheVersionAndWritesIncreaseIt() {
+        CategorySnapshotCache writer = node();
+        CategorySnapshotCache reader = node();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        tx.executeWithoutResult(status -> {
+            categoryRepository.save(new Category("Books", null, true));
+            writer.refreshAfterCommit();
+        });
+        CategorySnapshotCache.Snapshot first = writer.get();
+        assertThat(first.all()).hasSize(1);
+        assertThat(reader.get().version()).isEqualTo(first.version());
+
+        tx.executeWithoutResult(status -> {
+            categoryRepository.save(new Category("Music", null, false));
+            writer.refreshAfterCommit();
+        });
+        CategorySnapshotCache.Snapshot second = writer.get();
+        assertThat(second.version()).isGreaterThan(first.version());
+        assertThat(second.active()).hasSize(1);
+
+        // A node started after the write derives the same version without having seen the write
+        assertThat(node().get().version()).isEqualTo(second.version());
+    }
+}
@@ -0,0 +1,91 @@
+package com.eticaret.backend.cache;
+
+import com.eticaret.backend.dto.response.ProductResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A load that overlaps an invalidation must not leave its value in either cache tier.
+ */
+class ProductCacheTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+
+    private ProductCache cache(boolean redisEnabled) {
+        return new ProductCache(redisTemplate, mock(CacheInvalidationBus.class),
+                new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(), 100, Duration.ofMinutes(1),
+                redisEnabled, Duration.ofMinutes(10));
+    }
+
+    private static ProductResponse product(Long id, String price) {
+        ProductResponse response = new ProductResponse();
+        response.setId(id);
+        response.setPrice(new BigDecimal(price));
+        return response;
+    }
+
+    @Test
+    void loadOverlappingAnInvalidationIsServedButNotCached() {
+        ProductCache cache = cache(false);
+        AtomicInteger loads = new AtomicInteger();
+
+        // The loader reads the old row, then the writer commits and invalidates before the load returns
+        ProductResponse first = cache.get(1L, id -> {
+            loads.incrementAndGet();
+            cache.invalidate(id);
+            return product(id, "10.00");
+        });
+        Function<Long, ProductResponse> current = id -> {
+            loads.incrementAndGet();
+            return product(id, "12.00");
+        };
+
+        assertThat(first.getPrice()).isEqualByComparingTo("10.00");
+        assertThat(cache.get(1L, current).getPrice()).isEqualByComparingTo("12.00");
+        assertThat(cache.get(1L, current).getPrice()).isEqualByComparingTo("12.00");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void redisWriteIsSkippedWhenTheGenerationMoved() {
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.multiGet(List.of("product:1", "product:gen:1"))).thenReturn(Arrays.asList(null, "4"));
+        // Another node invalidated between the read of generation 4 and the write
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(0L);
+        ProductCache cache = cache(true);
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, ProductResponse> loader = id -> {
+            loads.incrementAndGet();
+            return product(id, "10.00");
+        };
+
+        cache.get(1L, loader);
+        cache.get(1L, loader);
+
+        assertThat(loads).hasValue(2);
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class),
+                eq(List.of("product:1", "product:gen:1")), eq("4"), any(), eq("600000"));
+    }
+}
@@ -0,0 +1,154 @@
+package com.eticaret.backend.cache;
+
+import com.eticaret.backend.config.HibernateCacheConfig;
+import com.eticaret.backend.model.Category;
+import com.eticaret.backend.model.Product;
+import com.eticaret.backend.repository.CategoryRepository;
+import com.eticaret.backend.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Second-level cache behaviour for Product and Category: loads by id and catalog list queries are
+ * served from the cache, and JDBC-side or remote invalidations evict it. Runs without a test
+ * transaction, so every repository call commits like it would in production.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ HibernateCacheConfig.class, SecondLevelCacheEvictor.class, ProductCache.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 21);
+
+    @TestConfiguration
+    static class CacheSupport {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+    }
+
+    @MockBean
+    private StringRedisTemplate redisTemplate;
+
+    @MockBean
+    private CacheInvalidationBus invalidationBus;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private SecondLevelCacheEvictor evictor;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Category category;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        category = categoryRepository.save(new Category("Cached", null, true));
+        product = productRepository.save(new Product("Cached product", null, new BigDecimal("12.50"), 7,
+                "L2-1", category, true));
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    private long statementsIssuedBy(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void findByIdIsServedFromTheEntityCache() {
+        productRepository.findById(product.getId());
+        categoryRepository.findById(category.getId());
+
+        assertThat(statementsIssuedBy(() -> productRepository.findById(product.getId()))).isZero();
+        assertThat(statementsIssuedBy(() -> categoryRepository.findById(category.getId()))).isZero();
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isEqualTo(7);
+    }
+
+    @Test
+    void catalogQueriesAreCachedUntilAProductChanges() {
+        productRepository.findActiveViewFirstPage(FIRST_PAGE);
+        assertThat(statementsIssuedBy(() -> productRepository.findActiveViewFirstPage(FIRST_PAGE))).isZero();
+        assertThat(statementsIssuedBy(() -> productRepository.findViewByCategoryFirstPage(category.getId(), FIRST_PAGE))).isEqualTo(1);
+        assertThat(statementsIssuedBy(() -> productRepository.findViewByCategoryFirstPage(category.getId(), FIRST_PAGE))).isZero();
+
+        // Writes through Hibernate invalidate the cached results by themselves
+        Product changed = productRepository.findById(product.getId()).orElseThrow();
+        changed.setActive(false);
+        productRepository.save(changed);
+
+        assertThat(productRepository.findActiveViewFirstPage(FIRST_PAGE)).isEmpty();
+    }
+
+    @Test
+    void productInvalidationEvictsEntityAndQueryResults() {
+        productRepository.findById(product.getId());
+        productRepository.findActiveViewFirstPage(FIRST_PAGE);
+        assertThat(entityManagerFactory.getCache().contains(Product.class, product.getId())).isTrue();
+
+        // What a JDBC bulk patch or another node's write triggers
+        productCache.invalidate(product.getId());
+
+        assertThat(entityManagerFactory.getCache().contains(Product.class, product.getId())).isFalse();
+        assertThat(statementsIssuedBy(() -> productRepository.findActiveViewFirstPage(FIRST_PAGE))).isEqualTo(1);
+    }
+
+    @Test
+    void catalogQueryEvictionCoversRowsInsertedOutsideHibernate() {
+        productRepository.findActiveViewFirstPage(FIRST_PAGE);
+
+        evictor.evictCatalogQueriesAfterCommit();
+
+        assertThat(statementsIssuedBy(() -> productRepository.findActiveViewFirstPage(FIRST_PAGE))).isEqualTo(1);
+    }
+}
@@ -0,0 +1,105 @@
+package com.eticaret.backend.cart;
+
+import com.eticaret.backend.model.CartItem;
+import com.eticaret.backend.model.CartSummary;
+import com.eticaret.backend.model.Product;
+import com.eticaret.backend.model.User;
+import com.eticaret.backend.repository.CartItemRepository;
+import com.eticaret.backend.repository.CartSummaryRepository;
+import com.eticaret.backend.support.TestMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Chunked deletion of stale cart lines and the summary rebuild that goes with it.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ AbandonedCartSweeper.class, TestMetrics.class })
+@TestPropertySource(properties = { "cart.sweeper.idle-after=30d", "cart.sweeper.chunk-size=2",
+        "cart.sweeper.pause=0ms" })
+class AbandonedCartSweeperTest {
+
+    @Autowired
+    private AbandonedCartSweeper sweeper;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private CartSummaryRepository cartSummaryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void deletesOnlyStaleLinesInChunksAndRebuildsSummaries() {
+        User active = new User("Active", "User", "active@example.com", "secret", null, true);
+        User gone = new User("Gone", "User", "gone@example.com", "secret", null, true);
+        entityManager.persist(active);
+        entityManager.persist(gone);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Product product = new Product("Product " + i, null, new BigDecimal("10.00"), 50, "SWEEP-" + i, null,
+                    true);
+            entityManager.persist(product);
+            products.add(product);
+        }
+
+        CartItem fresh = new CartItem(active, products.get(0), 2, new BigDecimal("10.00"));
+        entityManager.persist(fresh);
+        entityManager.persist(new CartItem(active, products.get(1), 1, new BigDecimal("10.00")));
+        for (Product product : products.subList(1, 4)) {
+            entityManager.persist(new CartItem(gone, product, 1, new BigDecimal("10.00")));
+        }
+        entityManager.flush();
+        cartSummaryRepository.recompute(List.of(active.getId(), gone.getId()));
+        // Hibernate stamps updated_at on every write, so age the lines directly
+        jdbcTemplate.update("UPDATE cart_items SET updated_at = ? WHERE id <> ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(31)), fresh.getId());
+
+        double reclaimedBefore = meterRegistry.get("cart.sweeper.reclaimed").counter().count();
+        long chunksBefore = meterRegistry.get("cart.sweeper.chunk").timer().count();
+
+        assertThat(sweeper.sweep()).isEqualTo(4);
+        entityManager.clear();
+
+        assertThat(cartItemRepository.findByUserId(active.getId())).extracting(CartItem::getId)
+                .containsExactly(fresh.getId());
+        assertThat(cartItemRepository.findByUserId(gone.getId())).isEmpty();
+        assertThat(cartSummaryRepository.findById(active.getId())).get()
+                .extracting(CartSummary::getItemCount, CartSummary::getTotalMinor)
+                .containsExactly(2, 2000L);
+        assertThat(cartSummaryRepository.findById(gone.getId())).get()
+                .extracting(CartSummary::getItemCount, CartSummary::getTotalMinor)
+                .containsExactly(0, 0L);
+        assertThat(meterRegistry.get("cart.sweeper.reclaimed").counter().count() - reclaimedBefore).isEqualTo(4);
+        // Three chunks: two full, then the last line
+        assertThat(meterRegistry.get("cart.sweeper.chunk").timer().count() - chunksBefore).isEqualTo(3);
+
+        assertThat(sweeper.sweep()).isZero();
+    }
+}
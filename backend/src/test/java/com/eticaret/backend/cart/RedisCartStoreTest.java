@@ -0,0 +1,236 @@
+package com.eticaret.backend.cart;
+
+import com.eticaret.backend.model.CartItem;
+import com.eticaret.backend.model.CartSummary;
+import com.eticaret.backend.model.Product;
+import com.eticaret.backend.model.User;
+import com.eticaret.backend.repository.CartItemRepository;
+import com.eticaret.backend.repository.CartSummaryRepository;
+import com.eticaret.backend.repository.ProductRepository;
+import com.eticaret.backend.repository.UserRepository;
+import com.eticaret.backend.support.EmbeddedRedis;
+import com.eticaret.backend.support.TestMetrics;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Redis carts against a real Redis server, so the line scripts run, and their write-behind into
+ * cart_items against the test database.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ RedisCartStore.class, TestMetrics.class, EmbeddedRedis.class })
+@TestPropertySource(properties = { "cart.storage=redis", "cart.redis.flush-batch-size=10",
+        "cart.redis.flush-claim-timeout=1m" })
+class RedisCartStoreTest {
+
+    private static final String DIRTY_KEY = "eticaret:cart:dirty";
+    private static final String CLAIMS_KEY = "eticaret:cart:flushing";
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private RedisCartStore cartStore;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private CartSummaryRepository cartSummaryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private Product kept;
+    private Product removed;
+    private Product added;
+    private long keptRowId;
+    private long removedRowId;
+
+    @BeforeEach
+    void setUp() {
+        EmbeddedRedis.flushAll(redisTemplate);
+
+        user = userRepository.save(new User("Cart", "User", "cart@example.com", "secret", null, true));
+        kept = productRepository.save(new Product("Kept", null, new BigDecimal("10.00"), 50, "CART-1", null, true));
+        removed = productRepository.save(new Product("Removed", null, new BigDecimal("20.00"), 50, "CART-2", null,
+                true));
+        added = productRepository.save(new Product("Added", null, new BigDecimal("30.00"), 50, "CART-3", null, true));
+        keptRowId = cartItemRepository.save(new CartItem(user, kept, 1, new BigDecimal("10.00"))).getId();
+        removedRowId = cartItemRepository.save(new CartItem(user, removed, 2, new BigDecimal("20.00"))).getId();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void firstAccessHydratesLinesUnderTheirRowIdsWithTheSummary() {
+        assertThat(cartStore.lines(user.getId()))
+                .extracting(RedisCartStore.Line::id, RedisCartStore.Line::productId, RedisCartStore.Line::quantity)
+                .containsExactlyInAnyOrder(tuple(keptRowId, kept.getId(), 1), tuple(removedRowId, removed.getId(), 2));
+        assertThat(cartStore.summary(user.getId())).isEqualTo(new RedisCartStore.Summary(3, 5000));
+        assertThat(redisTemplate.getExpire("eticaret:cart:" + user.getId())).isPositive();
+    }
+
+    @Test
+    void summaryOfACartNotInRedisComesFromCartSummaries() {
+        cartSummaryRepository.recompute(List.of(user.getId()));
+
+        assertThat(cartStore.summary(user.getId())).isEqualTo(new RedisCartStore.Summary(3, 5000));
+        assertThat(redisTemplate.hasKey("eticaret:cart:" + user.getId())).isFalse();
+    }
+
+    @Test
+    void addKeepsTheIdOfAnExistingLineAndGivesANewLineAFreshOne() {
+        RedisCartStore.Line more = cartStore.add(user.getId(), kept.getId(), 2, new BigDecimal("12.00"));
+        List<RedisCartStore.Line> lines = cartStore.addAll(user.getId(), List.of(
+                new RedisCartStore.Addition(added.getId(), 1, new BigDecimal("30.00")),
+                new RedisCartStore.Addition(added.getId(), 2, new BigDecimal("31.00"))));
+
+        // The price of an existing line is the one it was first added at
+        assertThat(more).isEqualTo(new RedisCartStore.Line(keptRowId, kept.getId(), 3, new BigDecimal("10.00")));
+        assertThat(lines).extracting(RedisCartStore.Line::quantity).containsExactly(1, 3);
+        assertThat(lines.get(0).id()).isEqualTo(lines.get(1).id()).isNotIn(keptRowId, removedRowId);
+        assertThat(lines).extracting(RedisCartStore.Line::price).containsOnly(new BigDecimal("30.00"));
+        assertThat(cartStore.summary(user.getId())).isEqualTo(new RedisCartStore.Summary(8, 16000));
+        assertThat(redisTemplate.opsForSet().members(DIRTY_KEY)).containsExactly(user.getId().toString());
+    }
+
+    @Test
+    void quantityChangesAndRemovalsAreKeyedByLineId() {
+        RedisCartStore.Line line = cartStore.lineById(user.getId(), removedRowId).orElseThrow();
+
+        assertThat(cartStore.setQuantity(user.getId(), line, 5)).isTrue();
+        assertThat(cartStore.summary(user.getId())).isEqualTo(new RedisCartStore.Summary(6, 11000));
+
+        assertThat(cartStore.remove(user.getId(), line)).isTrue();
+        assertThat(cartStore.remove(user.getId(), line)).isFalse();
+        assertThat(cartStore.summary(user.getId())).isEqualTo(new RedisCartStore.Summary(1, 1000));
+
+        // Added again, the product's line is a new line; the old id no longer reaches it
+        RedisCartStore.Line again = cartStore.add(user.getId(), removed.getId(), 1, new BigDecimal("20.00"));
+        assertThat(again.id()).isNotEqualTo(removedRowId);
+        assertThat(cartStore.lineById(user.getId(), removedRowId)).isEmpty();
+        assertThat(cartStore.setQuantity(user.getId(), line, 7)).isFalse();
+        assertThat(cartStore.line(user.getId(), removed.getId())).get()
+                .extracting(RedisCartStore.Line::quantity).isEqualTo(1);
+    }
+
+    @Test
+    void clearLeavesAnEmptyLoadedCartThatFlushesAsEmpty() {
+        cartStore.lines(user.getId());
+        cartStore.clear(user.getId());
+
+        assertThat(cartStore.lines(user.getId())).isEmpty();
+        assertThat(cartStore.summary(user.getId())).isEqualTo(new RedisCartStore.Summary(0, 0));
+
+        cartStore.flushDirty();
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(cartItemRepository.findByUserId(user.getId())).isEmpty();
+    }
+
+    @Test
+    void checkoutFlushWritesNewLinesUnderTheirLineIds() {
+        RedisCartStore.Line keptLine = cartStore.lineById(user.getId(), keptRowId).orElseThrow();
+        cartStore.setQuantity(user.getId(), keptLine, 5);
+        cartStore.remove(user.getId(), cartStore.lineById(user.getId(), removedRowId).orElseThrow());
+        long addedLineId = cartStore.add(user.getId(), added.getId(), 1, new BigDecimal("30.00")).id();
+
+        cartStore.flush(user.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(cartItemRepository.findByUserId(user.getId()))
+                .extracting(CartItem::getId, item -> item.getProduct().getId(), CartItem::getQuantity)
+                .containsExactlyInAnyOrder(tuple(keptRowId, kept.getId(), 5), tuple(addedLineId, added.getId(), 1));
+        // The summary serves the cart once it leaves Redis
+        assertThat(cartSummaryRepository.findById(user.getId())).get()
+                .extracting(CartSummary::getItemCount, CartSummary::getTotalMinor)
+                .containsExactly(6, 8000L);
+
+        // A reload after expiry finds the same ids
+        redisTemplate.delete("eticaret:cart:" + user.getId());
+        assertThat(cartStore.lines(user.getId())).extracting(RedisCartStore.Line::id)
+                .containsExactlyInAnyOrder(keptRowId, addedLineId);
+    }
+
+    @Test
+    void dirtyFlushReleasesItsClaims() {
+        cartStore.add(user.getId(), added.getId(), 2, new BigDecimal("30.00"));
+
+        cartStore.flushDirty();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(cartItemRepository.findByUserIdAndProductId(user.getId(), added.getId())).get()
+                .extracting(CartItem::getQuantity).isEqualTo(2);
+        assertThat(redisTemplate.opsForSet().size(DIRTY_KEY)).isZero();
+        assertThat(redisTemplate.opsForZSet().size(CLAIMS_KEY)).isZero();
+    }
+
+    @Test
+    void claimsOfAFlusherThatDiedAreFlushedAfterTheTimeout() {
+        cartStore.add(user.getId(), added.getId(), 2, new BigDecimal("30.00"));
+        // Claimed by a flusher that never released it
+        String userId = user.getId().toString();
+        redisTemplate.opsForSet().remove(DIRTY_KEY, userId);
+        redisTemplate.opsForZSet().add(CLAIMS_KEY, userId, System.currentTimeMillis() - Duration.ofSeconds(10).toMillis());
+
+        cartStore.flushDirty();
+        assertThat(cartItemRepository.findByUserIdAndProductId(user.getId(), added.getId())).isEmpty();
+
+        redisTemplate.opsForZSet().add(CLAIMS_KEY, userId, System.currentTimeMillis() - Duration.ofMinutes(2).toMillis());
+        cartStore.flushDirty();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(cartItemRepository.findByUserIdAndProductId(user.getId(), added.getId())).isPresent();
+        assertThat(redisTemplate.opsForZSet().size(CLAIMS_KEY)).isZero();
+    }
+
+    @Test
+    void dirtyFlushDropsLinesOfDeletedProductsAndCartsOfDeletedUsers() {
+        User gone = userRepository.save(new User("Gone", "User", "gone@example.com", "secret", null, true));
+        cartStore.add(gone.getId(), kept.getId(), 1, new BigDecimal("10.00"));
+        cartStore.add(user.getId(), added.getId(), 1, new BigDecimal("30.00"));
+        productRepository.deleteById(added.getId());
+        userRepository.deleteById(gone.getId());
+        entityManager.flush();
+
+        cartStore.flushDirty();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(cartItemRepository.findByUserId(user.getId()))
+                .extracting(item -> item.getProduct().getId())
+                .containsExactlyInAnyOrder(kept.getId(), removed.getId());
+        // The orphaned line leaves the hash too, so it is not written again on every flush
+        assertThat(cartStore.line(user.getId(), added.getId())).isEmpty();
+        assertThat(cartStore.summary(user.getId())).isEqualTo(new RedisCartStore.Summary(3, 5000));
+        assertThat(redisTemplate.hasKey("eticaret:cart:" + gone.getId())).isFalse();
+    }
+}
@@ -0,0 +1,169 @@
+package com.eticaret.backend.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes through separate in-memory H2 databases standing in for the primary and the replicas.
+ * Each database answers "SELECT name FROM node" with its own name.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void endScope() {
+        ReadYourWritesContext.end();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicasRoundRobin() {
+        Routing routing = routing(node("primary"), node("replica-a"), node("replica-b"));
+
+        assertThat(List.of(routing.readOnly(), routing.readOnly(), routing.readOnly(), routing.readOnly()))
+                .containsExactly("replica-a", "replica-b", "replica-a", "replica-b");
+        assertThat(routing.readWrite()).isEqualTo("primary");
+        assertThat(routing.withoutTransaction()).isEqualTo("primary");
+    }
+
+    @Test
+    void readsAfterAWriteInTheSameRequestStayOnThePrimary() {
+        Routing routing = routing(node("primary"), node("replica-a"));
+
+        ReadYourWritesContext.begin();
+        assertThat(routing.readOnly()).isEqualTo("replica-a");
+        assertThat(routing.readWrite()).isEqualTo("primary");
+        assertThat(routing.readOnly()).isEqualTo("primary");
+
+        // A new request starts on the replicas again
+        ReadYourWritesContext.end();
+        ReadYourWritesContext.begin();
+        assertThat(routing.readOnly()).isEqualTo("replica-a");
+    }
+
+    @Test
+    void readOnlyTransactionsInAPrimaryReadsScopeStayOnThePrimary() {
+        Routing routing = routing(node("primary"), node("replica-a"));
+
+        assertThat(PrimaryReads.call(routing::readOnly)).isEqualTo("primary");
+        assertThat(PrimaryReads.call(() -> PrimaryReads.call(routing::readOnly) + routing.readOnly()))
+                .isEqualTo("primaryprimary");
+        assertThat(routing.readOnly()).isEqualTo("replica-a");
+    }
+
+    @Test
+    void failingReplicaIsEjectedAndRestoredByHealthCheck() {
+        SwitchableDataSource flaky = new SwitchableDataSource(node("replica-b"));
+        Routing routing = routing(node("primary"), node("replica-a"), flaky);
+
+        flaky.down = true;
+        assertThat(List.of(routing.readOnly(), routing.readOnly(), routing.readOnly()))
+                .containsOnly("replica-a");
+        assertThat(routing.pool.healthyCount()).isEqualTo(1);
+
+        flaky.down = false;
+        routing.pool.checkHealth();
+        assertThat(List.of(routing.readOnly(), routing.readOnly()))
+                .containsExactlyInAnyOrder("replica-a", "replica-b");
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenEveryReplicaIsDown() {
+        SwitchableDataSource replica = new SwitchableDataSource(node("replica-a"));
+        replica.down = true;
+        Routing routing = routing(node("primary"), replica);
+
+        assertThat(routing.readOnly()).isEqualTo("primary");
+        assertThat(meterRegistry.get("datasource.routing").tag("target", "primary_fallback").counter().count())
+                .isEqualTo(1);
+    }
+
+    private Routing routing(DataSource primary, DataSource... replicaSources) {
+        List<ReplicaPool.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaSources.length; i++) {
+            replicas.add(new ReplicaPool.Replica("replica-" + i, replicaSources[i]));
+        }
+        ReplicaPool pool = new ReplicaPool(replicas, 1, meterRegistry);
+        DataSource routed = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, pool, meterRegistry));
+        return new Routing(routed, pool);
+    }
+
+    private static DataSource node(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static final class Routing {
+
+        private final JdbcTemplate jdbc;
+        private final TransactionTemplate readOnly;
+        private final TransactionTemplate readWrite;
+        private final ReplicaPool pool;
+
+        Routing(DataSource dataSource, ReplicaPool pool) {
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            this.jdbc = new JdbcTemplate(dataSource);
+            this.readOnly = new TransactionTemplate(transactionManager);
+            this.readOnly.setReadOnly(true);
+            this.readWrite = new TransactionTemplate(transactionManager);
+            this.pool = pool;
+        }
+
+        String readOnly() {
+            return readOnly.execute(status -> currentNode());
+        }
+
+        String readWrite() {
+            return readWrite.execute(status -> currentNode());
+        }
+
+        String withoutTransaction() {
+            return currentNode();
+        }
+
+        private String currentNode() {
+            return jdbc.queryForObject("SELECT name FROM node", String.class);
+        }
+    }
+
+    /**
+     * Replica stand-in that can be taken down and brought back
+     */
+    private static final class SwitchableDataSource extends DelegatingDataSource {
+
+        private volatile boolean down;
+
+        SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLTransientConnectionException("replica unreachable");
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.eticaret.backend.model;
+
+import com.eticaret.backend.support.JdbcRoundTripCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures JDBC round trips for multi-row writes. With pooled sequence ids Hibernate knows ids
+ * before inserting, so inserts go out in JDBC batches instead of one statement per row.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class InsertBatchingBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(InsertBatchingBenchmarkTest.class);
+
+    private static final int ROWS = 100;
+
+    @TestConfiguration
+    static class RoundTripSupport {
+
+        @Bean
+        static JdbcRoundTripCounter jdbcRoundTripCounter() {
+            return new JdbcRoundTripCounter();
+        }
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcRoundTripCounter roundTrips;
+
+    @Test
+    void productInsertsAreBatched() {
+        Category category = new Category("Batch", null, true);
+        entityManager.persist(category);
+
+        long trips = measure(() -> {
+            for (int i = 0; i < ROWS; i++) {
+                entityManager.persist(new Product("Product " + i, null, new BigDecimal("9.99"), 1,
+                        "BATCH-" + i, category, true));
+            }
+        });
+
+        log.info("{} product inserts: {} round trips", ROWS, trips);
+        // 2 sequence calls for 100 ids plus 5 batches of 20 (measured: 7); identity ids took 100
+        assertThat(trips).isLessThanOrEqualTo(8);
+    }
+
+    @Test
+    void orderWithManyItemsIsWrittenInFewStatements() {
+        User user = new User("Batch", "User", "batch@example.com", "secret", null, true);
+        entityManager.persist(user);
+        Category category = new Category("Orders", null, true);
+        entityManager.persist(category);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Product product = new Product("Item " + i, null, new BigDecimal("5.00"), 10, "ORD-" + i, category, true);
+            entityManager.persist(product);
+            products.add(product);
+        }
+
+        long trips = measure(() -> {
+            Order order = new Order(entityManager.getReference(User.class, user.getId()), new BigDecimal("500.00"),
+                    Order.OrderStatus.PENDING, "Istanbul");
+            entityManager.persist(order);
+            for (Product product : products) {
+                entityManager.persist(new OrderItem(order,
+                        entityManager.getReference(Product.class, product.getId()), 1, product.getPrice()));
+            }
+        });
+
+        log.info("Order with {} items: {} round trips", ROWS, trips);
+        // A few sequence calls, 1 order insert and 5 item batches (measured: 10); identity ids took 101
+        assertThat(trips).isLessThanOrEqualTo(12);
+    }
+
+    private long measure(Runnable writes) {
+        entityManager.flush();
+        entityManager.clear();
+        roundTrips.reset();
+
+        writes.run();
+        entityManager.flush();
+
+        return roundTrips.count();
+    }
+}
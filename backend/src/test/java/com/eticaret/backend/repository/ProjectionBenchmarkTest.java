@@ -0,0 +1,189 @@
+package com.eticaret.backend.repository;
+
+import com.eticaret.backend.mapper.CategoryMapperImpl;
+import com.eticaret.backend.mapper.OrderMapper;
+import com.eticaret.backend.mapper.OrderMapperImpl;
+import com.eticaret.backend.mapper.ProductMapper;
+import com.eticaret.backend.mapper.ProductMapperImpl;
+import com.eticaret.backend.mapper.UserMapper;
+import com.eticaret.backend.mapper.UserMapperImpl;
+import com.eticaret.backend.model.Category;
+import com.eticaret.backend.model.Order;
+import com.eticaret.backend.model.Product;
+import com.eticaret.backend.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the entity read path with the record projections used by the list endpoints.
+ * Both sides must build identical response DTOs. Allocation and latency are logged for comparison;
+ * the assertions cover what is deterministic: no managed entities and no lazy association loads.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ ProductMapperImpl.class, CategoryMapperImpl.class, OrderMapperImpl.class, UserMapperImpl.class })
+class ProjectionBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectionBenchmarkTest.class);
+
+    private static final int PRODUCTS = 500;
+    private static final int ORDERS = 200;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductMapper productMapper;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    private Long userId;
+
+    @BeforeEach
+    void seed() {
+        Category category = new Category("Bench", "Benchmark category", true);
+        entityManager.persist(category);
+        for (int i = 0; i < PRODUCTS; i++) {
+            entityManager.persist(new Product("Product " + i, "Description of product " + i,
+                    new BigDecimal("19.99"), i, "BENCH-" + i, category, true));
+        }
+
+        User user = new User("Bench", "User", "bench@example.com", "secret", "5550000000", true);
+        entityManager.persist(user);
+        userId = user.getId();
+        for (int i = 0; i < ORDERS; i++) {
+            entityManager.persist(new Order(user, new BigDecimal("99.90"), Order.OrderStatus.PENDING,
+                    "Istanbul " + i));
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void productListProjection() {
+        PageRequest all = PageRequest.of(0, PRODUCTS);
+
+        Result entity = measure(() -> productRepository.findFirstPage(all).stream()
+                .map(productMapper::toResponse).toList());
+        Result view = measure(() -> productRepository.findViewFirstPage(all).stream()
+                .map(productMapper::toResponse).toList());
+        report("products", entity, view);
+
+        assertThat(view.rows()).isEqualTo(entity.rows()).isEqualTo(PRODUCTS);
+        assertThat(view.managedEntities()).isZero();
+        assertThat(entity.managedEntities()).isEqualTo(PRODUCTS + 1);
+        assertThat(view.statements()).isEqualTo(1);
+        assertSameResponses(productRepository.findViewFirstPage(all).stream().map(productMapper::toResponse).toList(),
+                productRepository.findFirstPage(all).stream().map(productMapper::toResponse).toList());
+    }
+
+    @Test
+    void userOrdersProjection() {
+        Result entity = measure(() -> orderRepository.findByUserId(userId).stream()
+                .map(orderMapper::toResponse).toList());
+        Result view = measure(() -> orderRepository.findViewsByUserId(userId).stream()
+                .map(orderMapper::toResponse).toList());
+        report("user orders", entity, view);
+
+        assertThat(view.rows()).isEqualTo(entity.rows()).isEqualTo(ORDERS);
+        assertThat(view.managedEntities()).isZero();
+        // The entity path lazily loads the user after the order query
+        assertThat(entity.statements()).isEqualTo(2);
+        assertThat(view.statements()).isEqualTo(1);
+        assertSameResponses(orderRepository.findViewsByUserId(userId).stream().map(orderMapper::toResponse).toList(),
+                orderRepository.findByUserId(userId).stream().map(orderMapper::toResponse).toList());
+    }
+
+    @Test
+    void userListProjection() {
+        Result entity = measure(() -> userRepository.findAll().stream().map(userMapper::toResponse).toList());
+        Result view = measure(() -> userRepository.findAllViews().stream().map(userMapper::toResponse).toList());
+        report("users", entity, view);
+
+        assertThat(view.managedEntities()).isZero();
+        assertSameResponses(userRepository.findAllViews().stream().map(userMapper::toResponse).toList(),
+                userRepository.findAll().stream().map(userMapper::toResponse).toList());
+    }
+
+    private static <T> void assertSameResponses(List<T> views, List<T> entities) {
+        assertThat(views).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(entities);
+    }
+
+    /**
+     * Average bytes allocated and time spent per call on this thread, starting from an empty
+     * persistence context each time as a request would. Statement and managed-entity counts
+     * are taken from the last iteration.
+     */
+    private Result measure(Supplier<List<?>> query) {
+        long threadId = Thread.currentThread().threadId();
+        for (int i = 0; i < WARMUP; i++) {
+            entityManager.clear();
+            query.get();
+        }
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        int rows = 0;
+        long bytes = 0;
+        long nanos = 0;
+        long statements = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            entityManager.clear();
+            statistics.clear();
+            long startBytes = THREADS.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            rows = query.get().size();
+            nanos += System.nanoTime() - start;
+            bytes += THREADS.getThreadAllocatedBytes(threadId) - startBytes;
+            statements = statistics.getPrepareStatementCount();
+        }
+        int managed = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+        return new Result(rows, bytes / ITERATIONS, nanos / ITERATIONS, statements, managed);
+    }
+
+    private static void report(String name, Result entity, Result view) {
+        log.info("{} ({} rows): entity {} KB / {} us / {} managed, projection {} KB / {} us / {} managed",
+                name, entity.rows(), entity.bytes() / 1024, entity.nanos() / 1000, entity.managedEntities(),
+                view.bytes() / 1024, view.nanos() / 1000, view.managedEntities());
+    }
+
+    private record Result(int rows, long bytes, long nanos, long statements, int managedEntities) {
+    }
+}
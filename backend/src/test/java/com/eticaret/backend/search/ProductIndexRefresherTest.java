@@ -0,0 +1,75 @@
+package com.eticaret.backend.search;
+
+import com.eticaret.backend.cache.ProductCache;
+import com.eticaret.backend.model.Product;
+import com.eticaret.backend.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Products evicted from ProductCache are re-read and re-indexed, or removed once gone.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductIndexRefresherTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void evictedProductsAreReindexedFromTheDatabase() {
+        ProductCache productCache = mock(ProductCache.class);
+        List<Product> indexed = new ArrayList<>();
+        List<Long> removed = new ArrayList<>();
+        ProductIndex index = new ProductIndex() {
+            @Override
+            public void index(Product product) {
+                indexed.add(product);
+            }
+
+            @Override
+            public void remove(Long productId) {
+                removed.add(productId);
+            }
+        };
+        ProductIndexRefresher refresher = new ProductIndexRefresher(productCache, productRepository, List.of(index),
+                transactionManager);
+        ArgumentCaptor<LongConsumer> listener = ArgumentCaptor.forClass(LongConsumer.class);
+        verify(productCache).addLocalInvalidationListener(listener.capture());
+
+        // Checkout sold the last unit; only the cache was invalidated
+        Product soldOut = productRepository.saveAndFlush(new Product("Sold out", null, new BigDecimal("10.00"), 0,
+                "REFRESH-1", null, true));
+        listener.getValue().accept(soldOut.getId());
+        listener.getValue().accept(soldOut.getId());
+        listener.getValue().accept(-1L);
+
+        refresher.refresh();
+
+        assertThat(indexed).extracting(Product::getId, Product::getStockQuantity)
+                .containsExactly(tuple(soldOut.getId(), 0));
+        assertThat(removed).containsExactly(-1L);
+
+        refresher.refresh();
+        assertThat(indexed).hasSize(1);
+    }
+}
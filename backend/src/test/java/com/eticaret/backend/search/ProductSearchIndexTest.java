@@ -0,0 +1,36 @@
+package com.eticaret.backend.search;
+
+import com.eticaret.backend.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Index events can arrive out of order; the newest updatedAt wins for deactivation as for updates.
+ */
+class ProductSearchIndexTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private static Product product(boolean active, LocalDateTime updatedAt) {
+        Product product = new Product("Walnut desk", null, new BigDecimal("10.00"), 1, "DESK-1", null, active);
+        product.setId(1L);
+        product.setUpdatedAt(updatedAt);
+        return product;
+    }
+
+    @Test
+    void lateDeactivationDoesNotRemoveANewerActiveDocument() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.index(product(true, T0.plusMinutes(2)));
+
+        index.index(product(false, T0.plusMinutes(1)));
+        assertThat(index.search("walnut", 10)).containsExactly(1L);
+
+        index.index(product(false, T0.plusMinutes(3)));
+        assertThat(index.search("walnut", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,180 @@
+package com.eticaret.backend.service.impl;
+
+import com.eticaret.backend.dto.request.AddToCartRequest;
+import com.eticaret.backend.dto.request.BatchAddToCartRequest;
+import com.eticaret.backend.dto.response.BatchAddToCartResponse;
+import com.eticaret.backend.dto.response.BatchAddToCartResponse.ItemResult;
+import com.eticaret.backend.dto.response.BatchAddToCartResponse.Status;
+import com.eticaret.backend.dto.response.CartItemResponse;
+import com.eticaret.backend.dto.response.CartSummaryResponse;
+import com.eticaret.backend.mapper.CartItemMapperImpl;
+import com.eticaret.backend.mapper.CategoryMapperImpl;
+import com.eticaret.backend.mapper.ProductMapperImpl;
+import com.eticaret.backend.model.CartItem;
+import com.eticaret.backend.model.Category;
+import com.eticaret.backend.model.Product;
+import com.eticaret.backend.model.User;
+import com.eticaret.backend.repository.CartItemRepository;
+import com.eticaret.backend.repository.CartSummaryRepository;
+import com.eticaret.backend.stats.TrendingProducts;
+import com.eticaret.backend.support.QueryCountGuard;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Guards CartServiceImpl against per-item queries.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ CartServiceImpl.class, CartItemMapperImpl.class, ProductMapperImpl.class, CategoryMapperImpl.class,
+        TrendingProducts.class })
+class CartServiceImplQueryCountTest {
+
+    @TestConfiguration
+    static class Validation {
+
+        @Bean
+        LocalValidatorFactoryBean validator() {
+            return new LocalValidatorFactoryBean();
+        }
+    }
+
+    @Autowired
+    private CartServiceImpl cartService;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private CartSummaryRepository cartSummaryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private QueryCountGuard guard;
+    private User user;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        guard = new QueryCountGuard(entityManager);
+
+        user = new User("Cart", "User", "cart@example.com", "secret", null, true);
+        entityManager.persist(user);
+
+        products = new ArrayList<>();
+        for (int c = 0; c < 3; c++) {
+            Category category = new Category("Category " + c, null, true);
+            entityManager.persist(category);
+            for (int p = 0; p < 4; p++) {
+                Product product = new Product("Product " + c + "-" + p, null, new BigDecimal("10.00"), 5,
+                        "CART-" + c + "-" + p, category, true);
+                entityManager.persist(product);
+                products.add(product);
+            }
+        }
+        entityManager.persist(new CartItem(user, products.get(0), 1, new BigDecimal("10.00")));
+        cartSummaryRepository.recompute(List.of(user.getId()));
+    }
+
+    @Test
+    void cartViewLoadsLinesProductsAndCategoriesInOneQuery() {
+        for (int i = 1; i < products.size(); i++) {
+            entityManager.persist(new CartItem(user, products.get(i), 1, new BigDecimal("10.00")));
+        }
+        // Start from a cold second-level cache so lazy loads would show up as statements
+        entityManager.flush();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+
+        List<CartItemResponse> items = guard.assertMaxQueries(1, "getCartItems",
+                () -> cartService.getCartItems(user.getId()));
+
+        assertThat(items).hasSize(products.size());
+        assertThat(items).allSatisfy(item -> assertThat(item.getProduct().getCategory()).isNotNull());
+    }
+
+    @Test
+    void batchAddUsesFixedNumberOfStatementsAndReportsEveryItem() {
+        Product inactive = products.get(3);
+        inactive.setActive(false);
+
+        List<AddToCartRequest> items = new ArrayList<>();
+        items.add(new AddToCartRequest(products.get(0).getId(), 2));   // merged into the existing line
+        for (int i = 4; i < products.size(); i++) {
+            items.add(new AddToCartRequest(products.get(i).getId(), 1));
+        }
+        items.add(new AddToCartRequest(inactive.getId(), 1));
+        items.add(new AddToCartRequest(products.get(1).getId(), 6));   // more than in stock
+        items.add(new AddToCartRequest(-1L, 1));
+        items.add(new AddToCartRequest(products.get(4).getId(), 1));   // duplicate
+        items.add(new AddToCartRequest(products.get(2).getId(), 0));
+        int newLines = products.size() - 4;
+
+        // User, products with categories, existing lines, id sequence, one batched insert, one update,
+        // summary update
+        BatchAddToCartResponse response = guard.assertMaxQueries(7, "addToCartBatch", () -> {
+            BatchAddToCartResponse result = cartService.addToCartBatch(user.getId(), new BatchAddToCartRequest(items));
+            entityManager.flush();
+            return result;
+        });
+
+        assertThat(response.getRequested()).isEqualTo(items.size());
+        assertThat(response.getAdded()).isEqualTo(1 + newLines);
+        assertThat(response.getResults().subList(items.size() - 5, items.size()))
+                .extracting(ItemResult::getStatus)
+                .containsExactly(Status.UNAVAILABLE, Status.INSUFFICIENT_STOCK, Status.NOT_FOUND, Status.INVALID,
+                        Status.INVALID);
+        assertThat(response.getResults().get(0).getItem().getQuantity()).isEqualTo(3);
+
+        assertThat(cartItemRepository.findByUserId(user.getId()))
+                .hasSize(1 + newLines)
+                .extracting(item -> item.getProduct().getId(), CartItem::getQuantity)
+                .contains(tuple(products.get(0).getId(), 3));
+        assertThat(cartService.getCartSummary(user.getId()).getItemCount()).isEqualTo(3 + newLines);
+    }
+
+    @Test
+    void summaryFollowsEveryCartChangeAndIsReadWithOneQuery() {
+        Long userId = user.getId();
+        cartService.addToCart(userId, new AddToCartRequest(products.get(0).getId(), 2));
+        CartItemResponse added = cartService.addToCart(userId, new AddToCartRequest(products.get(1).getId(), 1));
+        cartService.addToCartBatch(userId, new BatchAddToCartRequest(List.of(
+                new AddToCartRequest(products.get(2).getId(), 4),
+                new AddToCartRequest(products.get(1).getId(), 1))));
+        CartItemResponse removed = cartService.addToCart(userId, new AddToCartRequest(products.get(3).getId(), 5));
+        cartService.updateQuantity(userId, added.getId(), 3);
+        cartService.removeFromCart(userId, removed.getId());
+
+        CartSummaryResponse summary = guard.assertMaxQueries(1, "getCartSummary",
+                () -> cartService.getCartSummary(userId));
+
+        List<CartItem> lines = cartItemRepository.findByUserId(userId);
+        assertThat(summary.getItemCount()).isEqualTo(lines.stream().mapToInt(CartItem::getQuantity).sum());
+        assertThat(summary.getItemCount()).isEqualTo(3 + 3 + 4);
+        assertThat(summary.getTotalMinor()).isEqualTo(10 * 1000L);
+        assertThat(summary.getTotal()).isEqualByComparingTo("100.00");
+
+        cartService.clearCart(userId);
+        // Each call is its own transaction outside the test; drop the summary read above
+        entityManager.clear();
+        assertThat(cartService.getCartSummary(userId).getItemCount()).isZero();
+        assertThat(cartService.getCartSummary(userId).getTotalMinor()).isZero();
+    }
+}
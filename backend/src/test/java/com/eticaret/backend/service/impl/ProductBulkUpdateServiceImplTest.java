@@ -0,0 +1,59 @@
+package com.eticaret.backend.service.impl;
+
+import com.eticaret.backend.dto.request.BulkProductPatchRequest.ProductPatch;
+import com.eticaret.backend.dto.response.BulkProductPatchResponse;
+import com.eticaret.backend.dto.response.BulkProductPatchResponse.PatchResult;
+import com.eticaret.backend.dto.response.BulkProductPatchResponse.Status;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Patches are deduplicated on the product ids they resolve to, and results are mapped back from the
+ * ids the UPDATE returned.
+ */
+class ProductBulkUpdateServiceImplTest {
+
+    private static final BigDecimal PRICE = new BigDecimal("9.99");
+
+    @Test
+    void patchesAreDeduplicatedOnResolvedIdsAndMappedFromUpdatedIds() {
+        List<ProductPatch> patches = List.of(
+                new ProductPatch(5L, null, PRICE, null, null),
+                new ProductPatch(null, "SKU-5", null, 3, null),     // same row as patch 0
+                new ProductPatch(null, "SKU-MULTI", PRICE, null, null),
+                new ProductPatch(null, "SKU-MISSING", PRICE, null, null),
+                new ProductPatch(9L, null, PRICE, null, null),      // no such product
+                new ProductPatch(7L, null, null, null, false));     // one of SKU-MULTI's rows
+        Map<String, List<Long>> idsBySku = Map.of("SKU-5", List.of(5L), "SKU-MULTI", List.of(6L, 7L));
+        PatchResult[] results = new PatchResult[patches.size()];
+
+        Map<Integer, List<Long>> targets = ProductBulkUpdateServiceImpl.resolveTargets(patches,
+                List.of(0, 1, 2, 3, 4, 5), idsBySku, results);
+
+        assertThat(targets).containsExactly(Map.entry(0, List.of(5L)), Map.entry(2, List.of(6L, 7L)),
+                Map.entry(4, List.of(9L)));
+
+        BulkProductPatchResponse response = ProductBulkUpdateServiceImpl.toResponse(patches, results, targets,
+                Set.of(5L, 6L, 7L));
+
+        assertThat(response.getResults())
+                .extracting(PatchResult::getIndex, PatchResult::getStatus, PatchResult::getProductIds)
+                .containsExactly(
+                        tuple(0, Status.UPDATED, List.of(5L)),
+                        tuple(1, Status.INVALID, List.of()),
+                        tuple(2, Status.UPDATED, List.of(6L, 7L)),
+                        tuple(3, Status.NOT_FOUND, List.of()),
+                        tuple(4, Status.NOT_FOUND, List.of()),
+                        tuple(5, Status.INVALID, List.of()));
+        assertThat(response.getRequested()).isEqualTo(6);
+        assertThat(response.getUpdated()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,98 @@
+package com.eticaret.backend.service.impl;
+
+import com.eticaret.backend.cache.ProductCache;
+import com.eticaret.backend.cache.SecondLevelCacheEvictor;
+import com.eticaret.backend.dto.response.ProductImportResponse;
+import com.eticaret.backend.dto.response.ProductImportResponse.RowError;
+import com.eticaret.backend.model.Category;
+import com.eticaret.backend.model.Product;
+import com.eticaret.backend.repository.CacheVersionRepository;
+import com.eticaret.backend.repository.CategoryRepository;
+import com.eticaret.backend.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+
+/**
+ * A row the database refuses must not take the rest of its batch down with it. Runs without a test
+ * transaction, so every batch commits like it would in production.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductImportServiceImplTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CacheVersionRepository cacheVersionRepository;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void failingBatchIsRetriedRowByRowAndOnlyTheFailingRowIsRejected() {
+        Category category = categoryRepository.save(new Category("Import", null, true));
+        ProductImportServiceImpl importService = new ProductImportServiceImpl(new JdbcTemplate(dataSource),
+                transactionManager, categoryRepository, cacheVersionRepository, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), List.of(), mock(ProductCache.class),
+                mock(SecondLevelCacheEvictor.class), 10, 100, 50);
+
+        // Row 3 passes validation but overflows the price column, which fails the whole JDBC batch
+        String ndjson = String.join("\n",
+                row("Imported 1", "10.00", "IMP-1", category),
+                row("Imported 2", "10.00", "IMP-2", category),
+                row("Too expensive", "123456789012.00", "IMP-3", category),
+                row("Imported 4", "10.00", "IMP-4", category));
+
+        ProductImportResponse response = importService.importNdjson(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(response.getImportedRows()).isEqualTo(3);
+        assertThat(response.getFailedRows()).isEqualTo(1);
+        assertThat(response.getErrors())
+                .extracting(RowError::getRow, RowError::getSku)
+                .containsExactly(tuple(3L, "IMP-3"));
+        assertThat(response.getErrors().get(0).getMessage()).startsWith("Insert failed: ");
+        assertThat(productRepository.findAll())
+                .extracting(Product::getSku)
+                .containsExactlyInAnyOrder("IMP-1", "IMP-2", "IMP-4");
+    }
+
+    private static String row(String name, String price, String sku, Category category) {
+        return "{\"name\":\"" + name + "\",\"price\":" + price + ",\"stockQuantity\":1,\"sku\":\"" + sku
+                + "\",\"categoryId\":" + category.getId() + "}";
+    }
+}
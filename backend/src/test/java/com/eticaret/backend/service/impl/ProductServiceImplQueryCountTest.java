@@ -0,0 +1,183 @@
+package com.eticaret.backend.service.impl;
+
+import com.eticaret.backend.cache.CacheInvalidationBus;
+import com.eticaret.backend.cache.ProductCache;
+import com.eticaret.backend.dto.response.PaginationResponse;
+import com.eticaret.backend.dto.response.ProductResponse;
+import com.eticaret.backend.dto.response.ProductSuggestionResponse;
+import com.eticaret.backend.mapper.CategoryMapperImpl;
+import com.eticaret.backend.mapper.ProductMapperImpl;
+import com.eticaret.backend.model.Category;
+import com.eticaret.backend.model.Product;
+import com.eticaret.backend.repository.ProductRepository;
+import com.eticaret.backend.search.ProductFacetIndex;
+import com.eticaret.backend.search.ProductSearchIndex;
+import com.eticaret.backend.search.ProductSuggester;
+import com.eticaret.backend.service.ProductService.Tagged;
+import com.eticaret.backend.stats.TrendingProducts;
+import com.eticaret.backend.support.QueryCountGuard;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards ProductServiceImpl read paths against N+1 category loads.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ ProductServiceImpl.class, ProductMapperImpl.class, CategoryMapperImpl.class, ProductCache.class,
+        ProductSearchIndex.class, ProductFacetIndex.class, ProductSuggester.class, TrendingProducts.class })
+class ProductServiceImplQueryCountTest {
+
+    private static final int PRODUCTS_PER_CATEGORY = 5;
+
+    @TestConfiguration
+    static class CacheSupport {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+    }
+
+    @MockBean
+    private StringRedisTemplate redisTemplate;
+
+    @MockBean
+    private CacheInvalidationBus invalidationBus;
+
+    @Autowired
+    private ProductServiceImpl productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private QueryCountGuard guard;
+    private Category firstCategory;
+    private Product firstProduct;
+
+    @BeforeEach
+    void setUp() {
+        guard = new QueryCountGuard(entityManager);
+
+        for (int c = 0; c < 3; c++) {
+            Category category = new Category("Category " + c, null, true);
+            entityManager.persist(category);
+            if (firstCategory == null) {
+                firstCategory = category;
+            }
+            for (int p = 0; p < PRODUCTS_PER_CATEGORY; p++) {
+                Product product = new Product("Product " + c + "-" + p, null, new BigDecimal("10.00"), 3,
+                        "SKU-" + c + "-" + p, category, p % 2 == 0);
+                entityManager.persist(product);
+                if (firstProduct == null) {
+                    firstProduct = product;
+                }
+            }
+        }
+    }
+
+    @Test
+    void getProductByIdUsesSingleQueryThenNearCache() {
+        ProductResponse product = guard.assertMaxQueries(1, "getProductById",
+                () -> productService.getProductById(firstProduct.getId()));
+        guard.assertMaxQueries(0, "getProductById (cached)",
+                () -> productService.getProductById(firstProduct.getId()));
+
+        assertThat(product.getCategory().getName()).isEqualTo(firstCategory.getName());
+    }
+
+    @Test
+    void suggestionSnapshotRebuildUsesTwoQueriesAndReadsNone() {
+        ProductSuggester suggester = new ProductSuggester(productRepository, 1000, 600_000);
+        guard.assertMaxQueries(2, "ProductSuggester.rebuild", () -> {
+            suggester.rebuild();
+            return null;
+        });
+
+        assertThat(suggester.suggest("produ", 5)).hasSize(5);
+        // Only active products are suggested: p = 0, 2, 4 in each category
+        assertThat(suggester.suggest("sku-1", 50)).extracting(ProductSuggestionResponse::getSku)
+                .containsExactlyInAnyOrder("SKU-1-0", "SKU-1-2", "SKU-1-4");
+        assertThat(suggester.suggest("1-2", 5)).extracting(ProductSuggestionResponse::getSku)
+                .containsExactly("SKU-1-2");
+    }
+
+    @Test
+    void suggestionSnapshotIsRebuiltOnAgeWithoutProductChanges() {
+        ProductSuggester fresh = new ProductSuggester(productRepository, 1000, 600_000);
+        ProductSuggester aged = new ProductSuggester(productRepository, 1000, 0);
+        fresh.refreshIfDirty();
+        aged.refreshIfDirty();
+
+        guard.assertMaxQueries(0, "refreshIfDirty (clean, fresh)", () -> {
+            fresh.refreshIfDirty();
+            return null;
+        });
+        guard.assertMaxQueries(2, "refreshIfDirty (clean, stale)", () -> {
+            aged.refreshIfDirty();
+            return null;
+        });
+        assertThat(guard.statementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void keysetPagesUseSingleQueryPerPageAfterTheVersionLookup() {
+        PaginationResponse<ProductResponse> first = guard.assertMaxQueries(2, "getProductsPage (first)",
+                () -> productService.getProductsPage(null, 4, etag -> false).value());
+        PaginationResponse<ProductResponse> second = guard.assertMaxQueries(2, "getProductsPage (next)",
+                () -> productService.getProductsPage(first.getNextCursor(), 4, etag -> false).value());
+
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(first.getContent()).allSatisfy(product -> assertThat(product.getCategory()).isNotNull());
+        assertThat(second.getContent()).hasSize(4)
+                .extracting(ProductResponse::getId)
+                .doesNotContainAnyElementsOf(first.getContent().stream().map(ProductResponse::getId).toList());
+
+        PaginationResponse<ProductResponse> active = guard.assertMaxQueries(2, "getActiveProductsPage",
+                () -> productService.getActiveProductsPage(null, 4, etag -> false).value());
+        assertThat(active.getContent()).isNotEmpty().allSatisfy(product -> assertThat(product.getActive()).isTrue());
+        PaginationResponse<ProductResponse> byCategory = guard.assertMaxQueries(3, "getProductsByCategoryPage",
+                () -> productService.getProductsByCategoryPage(firstCategory.getId(), null, 4, etag -> false).value());
+        assertThat(byCategory.getContent()).allSatisfy(
+                product -> assertThat(product.getCategory().getId()).isEqualTo(firstCategory.getId()));
+    }
+
+    @Test
+    void revalidationWithTheCurrentTagOnlyReadsTheVersions() {
+        String etag = productService.getProductsPage(null, 4, tag -> false).etag();
+
+        Tagged<PaginationResponse<ProductResponse>> unchanged = guard.assertMaxQueries(1,
+                "getProductsPage (not modified)", () -> productService.getProductsPage(null, 4, etag::equals));
+        assertThat(unchanged).isNull();
+        assertThat(productService.getActiveProductsPage(null, 4, tag -> false).etag()).isNotEqualTo(etag);
+
+        productService.deleteProduct(firstProduct.getId());
+        assertThat(productService.getProductsPage(null, 4, etag::equals).etag()).isNotEqualTo(etag);
+    }
+}
@@ -0,0 +1,170 @@
+package com.eticaret.backend.service.impl;
+
+import com.eticaret.backend.cart.RedisCartStore;
+import com.eticaret.backend.dto.request.AddToCartRequest;
+import com.eticaret.backend.dto.request.BatchAddToCartRequest;
+import com.eticaret.backend.dto.response.BatchAddToCartResponse;
+import com.eticaret.backend.dto.response.CartItemResponse;
+import com.eticaret.backend.dto.response.CartSummaryResponse;
+import com.eticaret.backend.dto.response.ProductResponse;
+import com.eticaret.backend.exception.BusinessException;
+import com.eticaret.backend.mapper.CartItemMapperImpl;
+import com.eticaret.backend.model.CartItem;
+import com.eticaret.backend.model.Product;
+import com.eticaret.backend.model.User;
+import com.eticaret.backend.repository.CartItemRepository;
+import com.eticaret.backend.repository.ProductRepository;
+import com.eticaret.backend.repository.UserRepository;
+import com.eticaret.backend.service.ProductService;
+import com.eticaret.backend.stats.TrendingProducts;
+import com.eticaret.backend.support.EmbeddedRedis;
+import com.eticaret.backend.support.TestMetrics;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cart item ids of the Redis mode are cart_items ids: the same before and after a flush or a
+ * reload, and a removed line's id never reaches a line added later.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ RedisCartStore.class, TestMetrics.class, EmbeddedRedis.class })
+@TestPropertySource(properties = "cart.storage=redis")
+class RedisCartServiceImplTest {
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private RedisCartStore cartStore;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final ProductService productService = mock(ProductService.class);
+
+    private RedisCartServiceImpl cartService;
+    private User user;
+    private Product book;
+    private Product pen;
+
+    @BeforeEach
+    void setUp() {
+        EmbeddedRedis.flushAll(redisTemplate);
+        cartService = new RedisCartServiceImpl(cartStore, productService, new CartItemMapperImpl(),
+                mock(TrendingProducts.class), Validation.buildDefaultValidatorFactory().getValidator(), 100);
+
+        user = userRepository.save(new User("Cart", "User", "cart@example.com", "secret", null, true));
+        book = productRepository.save(new Product("Book", null, new BigDecimal("12.50"), 10, "CART-BOOK", null,
+                true));
+        pen = productRepository.save(new Product("Pen", null, new BigDecimal("1.99"), 10, "CART-PEN", null, true));
+        entityManager.flush();
+        when(productService.getProductById(book.getId())).thenReturn(response(book));
+        when(productService.getProductById(pen.getId())).thenReturn(response(pen));
+    }
+
+    @Test
+    void itemIdsAreTheCartItemIdsBeforeAndAfterAFlushAndAReload() {
+        CartItemResponse added = cartService.addToCart(user.getId(), new AddToCartRequest(book.getId(), 2));
+        BatchAddToCartResponse batch = cartService.addToCartBatch(user.getId(), new BatchAddToCartRequest(List.of(
+                new AddToCartRequest(pen.getId(), 1), new AddToCartRequest(book.getId(), 1))));
+
+        assertThat(batch.getAdded()).isEqualTo(2);
+        Long penId = batch.getResults().get(0).getItem().getId();
+        assertThat(batch.getResults().get(1).getItem().getId()).isEqualTo(added.getId());
+        assertThat(batch.getResults().get(1).getItem().getQuantity()).isEqualTo(3);
+
+        cartStore.flush(user.getId());
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(cartItemRepository.findByUserId(user.getId()))
+                .extracting(CartItem::getId)
+                .containsExactlyInAnyOrder(added.getId(), penId);
+
+        // The cart expired from Redis and is read back from cart_items
+        EmbeddedRedis.flushAll(redisTemplate);
+        assertThat(cartService.getCartItems(user.getId()))
+                .extracting(CartItemResponse::getId)
+                .containsExactlyInAnyOrder(added.getId(), penId);
+        assertThat(cartService.updateQuantity(user.getId(), penId, 4).getSubtotal())
+                .isEqualByComparingTo("7.96");
+    }
+
+    @Test
+    void theIdOfARemovedLineIsNotFoundOnceTheProductIsAddedAgain() {
+        Long oldId = cartService.addToCart(user.getId(), new AddToCartRequest(book.getId(), 1)).getId();
+        cartService.removeFromCart(user.getId(), oldId);
+        Long newId = cartService.addToCart(user.getId(), new AddToCartRequest(book.getId(), 2)).getId();
+
+        assertThat(newId).isNotEqualTo(oldId);
+        assertThatThrownBy(() -> cartService.updateQuantity(user.getId(), oldId, 5))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Cart item not found with id: " + oldId);
+        assertThatThrownBy(() -> cartService.removeFromCart(user.getId(), oldId))
+                .isInstanceOf(BusinessException.class);
+        assertThat(cartService.updateQuantity(user.getId(), newId, 5).getQuantity()).isEqualTo(5);
+    }
+
+    @Test
+    void anotherUsersItemIdIsNotFound() {
+        User other = userRepository.save(new User("Other", "User", "other@example.com", "secret", null, true));
+        Long itemId = cartService.addToCart(user.getId(), new AddToCartRequest(book.getId(), 1)).getId();
+
+        assertThatThrownBy(() -> cartService.removeFromCart(other.getId(), itemId))
+                .isInstanceOf(BusinessException.class);
+        assertThat(cartService.getCartItems(user.getId())).hasSize(1);
+    }
+
+    @Test
+    void summaryFollowsChangesAndClear() {
+        cartService.addToCart(user.getId(), new AddToCartRequest(book.getId(), 2));
+        Long penId = cartService.addToCart(user.getId(), new AddToCartRequest(pen.getId(), 1)).getId();
+        cartService.updateQuantity(user.getId(), penId, 3);
+
+        CartSummaryResponse summary = cartService.getCartSummary(user.getId());
+        assertThat(summary.getItemCount()).isEqualTo(5);
+        assertThat(summary.getTotal()).isEqualByComparingTo("30.97");
+
+        cartService.clearCart(user.getId());
+        assertThat(cartService.getCartSummary(user.getId()).getItemCount()).isZero();
+        assertThat(cartService.getCartItems(user.getId())).isEmpty();
+    }
+
+    private static ProductResponse response(Product product) {
+        ProductResponse response = new ProductResponse();
+        response.setId(product.getId());
+        response.setName(product.getName());
+        response.setPrice(product.getPrice());
+        response.setStockQuantity(product.getStockQuantity());
+        response.setSku(product.getSku());
+        response.setActive(product.getActive());
+        return response;
+    }
+}
@@ -0,0 +1,113 @@
+package com.eticaret.backend.stats;
+
+import com.eticaret.backend.model.Product;
+import com.eticaret.backend.repository.ProductRepository;
+import com.eticaret.backend.repository.projection.ProductPopularityView;
+import com.eticaret.backend.support.TestMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * View counting under concurrent increments, and the batched flush into product_stats.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ ProductViewCounter.class, TestMetrics.class })
+@TestPropertySource(properties = "stats.views.batch-size=2")
+class ProductViewCounterTest {
+
+    @Autowired
+    private ProductViewCounter counter;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void concurrentViewsAreFlushedInBatchesWithoutLosingCounts() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(productRepository.save(new Product("Viewed " + i, null, new BigDecimal("10.00"), 1,
+                    "VIEW-" + i, null, true)).getId());
+        }
+        productRepository.flush();
+
+        double flushedBefore = meterRegistry.get("product.views.flushed").counter().count();
+        int threads = 8;
+        int viewsPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int v = 0; v < viewsPerThread; v++) {
+                    counter.record(ids.get(v % ids.size()));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        // Drain while the increments are still running
+        counter.flush();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        counter.flush();
+
+        long expectedPerProduct = (long) threads * viewsPerThread / ids.size();
+        for (Long id : ids) {
+            assertThat(viewCount(id)).as("views of product %d", id).isEqualTo(expectedPerProduct);
+        }
+        assertThat(meterRegistry.get("product.views.flushed").counter().count() - flushedBefore)
+                .isEqualTo((double) threads * viewsPerThread);
+        assertThat(meterRegistry.get("product.views.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void viewsOfMissingProductsAreDroppedAndViewsFeedPopularity() {
+        Product product = productRepository.save(new Product("Popular", null, new BigDecimal("10.00"), 1,
+                "POP-1", null, true));
+        productRepository.flush();
+
+        counter.record(product.getId());
+        counter.record(product.getId());
+        counter.record(-1L);
+        counter.flush();
+
+        assertThat(viewCount(product.getId())).isEqualTo(2);
+        assertThat(productRepository.findPopularity())
+                .extracting(ProductPopularityView::productId, ProductPopularityView::score)
+                .containsExactly(tuple(product.getId(), 2L));
+    }
+
+    private long viewCount(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT view_count FROM product_stats WHERE product_id = ?",
+                Long.class, productId);
+    }
+}
@@ -0,0 +1,89 @@
+package com.eticaret.backend.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Heavy hitters over the sliding window, with sketches far smaller than the number of products.
+ */
+class TrendingProductsTest {
+
+    private static final int CATALOG_SIZE = 50_000;
+
+    @Test
+    void ranksHeavyHittersAboveTheLongTail() throws Exception {
+        TrendingProducts trending = new TrendingProducts(4, 4, 1024, 20);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long seed = t;
+            futures.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 50_000; i++) {
+                    // Long tail: one cart add each to random products
+                    trending.recordCartAdd(1_000 + random.nextInt(CATALOG_SIZE));
+                    if (i % 100 == 0) {
+                        // Heavy hitters 1..5, product 1 the most active
+                        for (long product = 1; product <= 5; product++) {
+                            for (long n = 0; n < 6 - product; n++) {
+                                trending.recordCartAdd(product);
+                            }
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertThat(trending.top(5)).containsExactly(1L, 2L, 3L, 4L, 5L);
+        // Count-Min never undercounts
+        assertThat(trending.estimate(1)).isGreaterThanOrEqualTo(4 * 500 * 5);
+    }
+
+    @Test
+    void ordersWeighMoreThanCartAdds() {
+        TrendingProducts trending = new TrendingProducts(2, 4, 256, 10);
+
+        for (int i = 0; i < 2; i++) {
+            trending.recordCartAdd(7);
+        }
+        trending.recordOrder(List.of(8L));
+
+        assertThat(trending.top(2)).containsExactly(8L, 7L);
+    }
+
+    @Test
+    void activityLeavesTheRankingOnceTheWindowSlidesPastIt() {
+        TrendingProducts trending = new TrendingProducts(3, 4, 256, 10);
+
+        trending.recordCartAdd(1);
+        trending.rotate();
+        trending.recordCartAdd(2);
+        trending.recordCartAdd(2);
+        assertThat(trending.top(10)).containsExactly(2L, 1L);
+
+        trending.rotate();
+        trending.rotate();
+        assertThat(trending.top(10)).containsExactly(2L);
+
+        trending.rotate();
+        assertThat(trending.top(10)).isEmpty();
+
+        // A product that dropped out can come back
+        trending.recordCartAdd(1);
+        assertThat(trending.top(10)).containsExactly(1L);
+    }
+}
@@ -0,0 +1,73 @@
+package com.eticaret.backend.support;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+
+/**
+ * A real redis-server, started once per test JVM on a free port, for tests whose Lua scripts and
+ * commands must actually run. Import it next to the components under test; the server is shared,
+ * so tests start from {@link #flushAll(StringRedisTemplate)}.
+ */
+@TestConfiguration
+public class EmbeddedRedis {
+
+    private static int port;
+
+    @Bean(destroyMethod = "destroy")
+    public LettuceConnectionFactory redisConnectionFactory() {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("127.0.0.1", start()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        return connectionFactory;
+    }
+
+    @Bean
+    public StringRedisTemplate stringRedisTemplate(LettuceConnectionFactory redisConnectionFactory) {
+        return new StringRedisTemplate(redisConnectionFactory);
+    }
+
+    public static void flushAll(StringRedisTemplate redisTemplate) {
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+    }
+
+    private static synchronized int start() {
+        if (port == 0) {
+            try {
+                int freePort;
+                try (ServerSocket socket = new ServerSocket(0)) {
+                    freePort = socket.getLocalPort();
+                }
+                RedisServer server = RedisServer.newRedisServer()
+                        .port(freePort)
+                        .bind("127.0.0.1")
+                        .setting("save \"\"")
+                        .setting("appendonly no")
+                        .build();
+                server.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        server.stop();
+                    } catch (IOException ex) {
+                        // The JVM is exiting; the server goes down with the process group anyway
+                    }
+                }));
+                port = freePort;
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not start embedded Redis", ex);
+            }
+        }
+        return port;
+    }
+}
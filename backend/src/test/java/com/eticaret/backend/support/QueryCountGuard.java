@@ -0,0 +1,52 @@
+package com.eticaret.backend.support;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test helper that fails when a block of code issues more SQL statements than allowed.
+ * Relies on hibernate.generate_statistics being enabled (see application-test.yml).
+ */
+public final class QueryCountGuard {
+
+    private final EntityManager entityManager;
+
+    public QueryCountGuard(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Runs the action against a cleared persistence context and asserts the number of prepared statements
+     */
+    public <T> T assertMaxQueries(int maxQueries, String description, Supplier<T> action) {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        T result = action.get();
+
+        long executed = statistics.getPrepareStatementCount();
+        assertThat(executed)
+                .as("%s issued %d statements, allowed at most %d", description, executed, maxQueries)
+                .isLessThanOrEqualTo(maxQueries);
+        return result;
+    }
+
+    /**
+     * Number of statements prepared since the statistics were last cleared
+     */
+    public long statementCount() {
+        return statistics().getPrepareStatementCount();
+    }
+
+    public Statistics statistics() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+}
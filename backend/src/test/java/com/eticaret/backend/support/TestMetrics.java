@@ -0,0 +1,19 @@
+package com.eticaret.backend.support;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * In-memory MeterRegistry for test slices that do not bring the metrics auto-configuration.
+ * Import it next to the components under test.
+ */
+@TestConfiguration
+public class TestMetrics {
+
+    @Bean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+}